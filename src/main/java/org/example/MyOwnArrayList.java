@@ -1,6 +1,7 @@
 package org.example;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Реализация списка CustomArrayList с обобщенными типами.
@@ -11,6 +12,7 @@ public class MyOwnArrayList<T> {
     private Object[] array; // Внутренний массив для хранения элементов
     private int size; // Текущее количество элементов в списке
     private static final int DEFAULT_CAPACITY = 10; // Начальная емкость списка по умолчанию
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // Наибольший размер массива в JVM
 
     /**
      * Создает новый пустой CustomArrayList с емкостью по умолчанию.
@@ -20,6 +22,19 @@ public class MyOwnArrayList<T> {
         this.size = 0;
     }
 
+    /**
+     * Создает новый пустой список, вмещающий указанное число элементов без роста.
+     *
+     * @param initialCapacity начальная емкость
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + initialCapacity);
+        }
+        this.array = new Object[initialCapacity];
+    }
+
     /**
      * Добавляет элемент в конец списка.
      *
@@ -27,7 +42,7 @@ public class MyOwnArrayList<T> {
      */
     public void add(T element) {
         if (size == array.length) {
-            increaseCapacity();
+            increaseCapacity(size + 1);
         }
         array[size++] = element;
     }
@@ -44,7 +59,7 @@ public class MyOwnArrayList<T> {
             throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
         }
         if (size == array.length) {
-            increaseCapacity();
+            increaseCapacity(size + 1);
         }
         System.arraycopy(array, index, array, index + 1, size - index);
         array[index] = element;
@@ -103,80 +118,176 @@ public class MyOwnArrayList<T> {
 
     /**
      * Сортирует элементы в списке в порядке возрастания с использованием переданного компаратора.
+     * Сортировка устойчива (равные элементы сохраняют взаимный порядок) и выполняется на месте
+     * во внутреннем массиве методом {@link Arrays#sort(Object[], int, int, Comparator)}; на почти
+     * упорядоченных данных она близка к линейной.
      *
      * @param comparator компаратор для сортировки элементов
+     * @throws IllegalArgumentException если обнаружено, что компаратор нарушает свой контракт
      */
+    @SuppressWarnings("unchecked")
     public void sortWithComparator(Comparator<? super T> comparator) {
-        List<T> list = new ArrayList<>(Arrays.asList(this.toArray()));
-        list.sort(comparator);
-        for (int i = 0; i < list.size(); i++) {
-            this.set(i, list.get(i));
+        Arrays.sort((T[]) array, 0, size, comparator);
+    }
+
+    /**
+     * Добавляет все элементы коллекции в конец списка в порядке ее итератора.
+     * Массив растет не больше одного раза, а элементы переносятся одним копированием.
+     *
+     * @param collection коллекция добавляемых элементов
+     * @return true, если список изменился
+     * @throws NullPointerException если коллекция равна {@code null}
+     */
+    public boolean addAll(Collection<? extends T> collection) {
+        return addAll(size, collection);
+    }
+
+    /**
+     * Вставляет все элементы коллекции начиная с указанного индекса. Элементы списка после индекса
+     * сдвигаются один раз сразу на размер коллекции.
+     *
+     * @param index      индекс, по которому нужно вставить первый элемент коллекции
+     * @param collection коллекция добавляемых элементов
+     * @return true, если список изменился
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     * @throws NullPointerException      если коллекция равна {@code null}
+     */
+    public boolean addAll(int index, Collection<? extends T> collection) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
         }
+        Object[] added = collection.toArray();
+        int count = added.length;
+        if (count == 0) {
+            return false;
+        }
+        if (count > array.length - size) {
+            increaseCapacity(size + (long) count);
+        }
+        System.arraycopy(array, index, array, index + count, size - index);
+        System.arraycopy(added, 0, array, index, count);
+        size += count;
+        return true;
     }
 
     /**
-     * Увеличивает ёмкость массива
+     * Удаляет элементы с индексами от {@code fromIndex} включительно до {@code toIndex}
+     * не включительно. Хвост списка сдвигается одним копированием.
+     *
+     * @param fromIndex индекс первого удаляемого элемента
+     * @param toIndex   индекс после последнего удаляемого элемента
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы списка или
+     *                                   {@code fromIndex > toIndex}
      */
-    private void increaseCapacity() {
-        int newCapacity = array.length * 2;
-        Object[] newArray = new Object[newCapacity];
-        System.arraycopy(array, 0, newArray, 0, size);
-        array = newArray;
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Диапазон: [" + fromIndex + ", " + toIndex + "), Размер: " + size);
+        }
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
     }
 
     /**
-     * Возвращает текущее количество элементов в списке.
+     * Удаляет все элементы, удовлетворяющие условию, за один проход: оставшиеся элементы
+     * сдвигаются к началу по мере просмотра, и каждый переносится не больше одного раза.
+     * Если условие выбрасывает исключение, уже удаленные элементы остаются удаленными,
+     * а непросмотренные сохраняются.
      *
-     * @return количество элементов в списке
+     * @param filter условие удаления
+     * @return true, если был удален хотя бы один элемент
+     * @throws NullPointerException если условие равно {@code null}
      */
-    public int size() {
-        return size;
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        Object[] array = this.array;
+        int size = this.size;
+        int read = 0;
+        int write = 0;
+        try {
+            for (; read < size; read++) {
+                Object element = array[read];
+                if (!filter.test((T) element)) {
+                    array[write++] = element;
+                }
+            }
+        } finally {
+            if (read < size) {
+                System.arraycopy(array, read, array, write, size - read);
+                write += size - read;
+            }
+            Arrays.fill(array, write, size, null);
+            this.size = write;
+        }
+        return write != size;
     }
 
     /**
-     * Быстрая сортировка элементов в списке с использованием переданного компаратора.
+     * Увеличивает емкость так, чтобы список вмещал указанное число элементов без роста.
      *
-     * @param comparator компаратор для сортировки элементов
+     * @param minCapacity требуемая емкость
      */
-    public void quickSort(Comparator<T> comparator) {
-        quickSortHelper(0, size - 1, comparator);
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            increaseCapacity(minCapacity);
+        }
     }
 
     /**
-     * Вспомогательный метод для реализации быстрой сортировки.
+     * Уменьшает емкость до текущего размера списка, освобождая неиспользуемую часть массива.
      */
-    private void quickSortHelper(int low, int high, Comparator<T> comparator) {
-        if (low < high) {
-            int pivot = partition(low, high, comparator);
-            quickSortHelper(low, pivot - 1, comparator);
-            quickSortHelper(pivot + 1, high, comparator);
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
         }
     }
 
     /**
-     * Разделительный метод для быстрой сортировки.
+     * Увеличивает ёмкость массива вдвое или до требуемой, если она больше.
      */
-    @SuppressWarnings("unchecked")
-    private int partition(int low, int high, Comparator<T> comparator) {
-        T pivot = (T) array[high];
-        int i = low - 1;
-        for (int j = low; j < high; j++) {
-            if (comparator.compare((T) array[j], pivot) <= 0) {
-                i++;
-                swap(i, j);
-            }
+    private void increaseCapacity(long minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Превышен наибольший размер списка");
         }
-        swap(i + 1, high);
-        return i + 1;
+        long newCapacity = Math.max(Math.max(array.length * 2L, minCapacity), DEFAULT_CAPACITY);
+        array = Arrays.copyOf(array, (int) Math.min(newCapacity, MAX_CAPACITY));
+    }
+
+    /**
+     * Возвращает текущее количество элементов в списке.
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
     }
 
     /**
-     * Меняет местами два элемента в массиве.
+     * Быстрая сортировка элементов в списке с использованием переданного компаратора.
+     * Выполняется на месте алгоритмом {@link MyOwnIntroSort} за O(n log n) в худшем случае,
+     * в том числе на уже упорядоченных списках. Сортировка неустойчива.
+     *
+     * @param comparator компаратор для сортировки элементов
      */
-    private void swap(int i, int j) {
-        Object temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
+    public void quickSort(Comparator<T> comparator) {
+        MyOwnIntroSort.sort(array, 0, size, comparator);
+    }
+
+    /**
+     * Параллельная сортировка элементов в списке с использованием переданного компаратора.
+     * Внутренний массив делится на куски, которые сортируются и сливаются в общем
+     * {@link java.util.concurrent.ForkJoinPool}; короткие списки сортируются последовательно
+     * алгоритмом {@link MyOwnIntroSort}. Требует временный массив размером со список.
+     * Сортировка неустойчива, а компаратор вызывается из нескольких потоков.
+     *
+     * @param comparator компаратор для сортировки элементов
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        MyOwnParallelSort.sort(array, size, comparator);
     }
 
     /**
@@ -196,11 +307,9 @@ public class MyOwnArrayList<T> {
      * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
      */
     public void set(int index, T element) {
-        if (index < 0 || index >= this.size()) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
         }
-        T[] elements = this.toArray();
-        elements[index] = element;
-        this.array = elements;
+        array[index] = element;
     }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Список из сегментов фиксированного размера с индексами типа {@code long}.
+ * <p>
+ * Элементы хранятся в сегментах по {@link #SEGMENT_SIZE} элементов, на которые указывает
+ * каталог сегментов. При росте добавляется только новый сегмент, а уже записанные элементы
+ * не копируются; копируется лишь каталог, который в {@link #SEGMENT_SIZE} раз короче списка.
+ * Сегмент занимает десятки килобайт, что меньше порога крупных объектов сборщика G1, поэтому
+ * рост большого списка не создает всплесков выделения памяти. Размер списка ограничен не
+ * {@code 2^31} элементами, а {@code 2^31} сегментами.
+ * <p>
+ * Элемент находится по индексу сдвигом и маской без деления. Вставка и удаление в середине
+ * сдвигают хвост по сегментам: внутри сегмента одним копированием, а на границе переносят
+ * один элемент в соседний сегмент. После удалений сохраняется не больше одного пустого
+ * сегмента про запас, остальные освобождаются.
+ *
+ * @param <T> тип элементов в списке
+ */
+public class MyOwnBigArrayList<T> {
+    static final int SEGMENT_SHIFT = 14;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT; // Количество элементов в сегменте
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int INITIAL_DIRECTORY_LENGTH = 16;
+    private static final int MAX_DIRECTORY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private Object[][] segments; // Каталог сегментов
+    private int segmentCount; // Количество выделенных сегментов
+    private long size; // Текущее количество элементов в списке
+
+    /**
+     * Создает новый пустой список. Сегменты выделяются по мере добавления элементов.
+     */
+    public MyOwnBigArrayList() {
+        this.segments = new Object[INITIAL_DIRECTORY_LENGTH][];
+    }
+
+    /**
+     * Добавляет элемент в конец списка.
+     *
+     * @param element элемент, который нужно добавить в список
+     */
+    public void add(T element) {
+        int segment = (int) (size >>> SEGMENT_SHIFT);
+        if (segment == segmentCount) {
+            addSegment();
+        }
+        segments[segment][(int) (size & SEGMENT_MASK)] = element;
+        size++;
+    }
+
+    /**
+     * Добавляет элемент по указанному индексу в список.
+     *
+     * @param index   индекс, по которому нужно добавить элемент
+     * @param element элемент, который нужно добавить в список
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void add(long index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        int last = (int) (size >>> SEGMENT_SHIFT); // Сегмент, в который попадет последний элемент
+        if (last == segmentCount) {
+            addSegment();
+        }
+        int lastUsed = (int) (size & SEGMENT_MASK); // Занятые ячейки последнего сегмента
+        int segment = (int) (index >>> SEGMENT_SHIFT);
+        int offset = (int) (index & SEGMENT_MASK);
+        Object[][] segments = this.segments;
+        // Сдвигаем хвост на одну позицию, начиная с последнего сегмента
+        for (int s = last; s > segment; s--) {
+            Object[] current = segments[s];
+            System.arraycopy(current, 0, current, 1, s == last ? lastUsed : SEGMENT_SIZE - 1);
+            current[0] = segments[s - 1][SEGMENT_MASK];
+        }
+        Object[] target = segments[segment];
+        int moved = segment == last ? lastUsed - offset : SEGMENT_SIZE - 1 - offset;
+        System.arraycopy(target, offset, target, offset + 1, moved);
+        target[offset] = element;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно получить
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        return (T) segments[(int) (index >>> SEGMENT_SHIFT)][(int) (index & SEGMENT_MASK)];
+    }
+
+    /**
+     * Заменяет элемент в списке по указанному индексу новым элементом.
+     *
+     * @param index   индекс элемента, который нужно заменить
+     * @param element новый элемент для замены
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void set(long index, T element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        segments[(int) (index >>> SEGMENT_SHIFT)][(int) (index & SEGMENT_MASK)] = element;
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно удалить
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void remove(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        long lastIndex = size - 1;
+        int last = (int) (lastIndex >>> SEGMENT_SHIFT);
+        int lastOffset = (int) (lastIndex & SEGMENT_MASK);
+        int segment = (int) (index >>> SEGMENT_SHIFT);
+        int offset = (int) (index & SEGMENT_MASK);
+        Object[][] segments = this.segments;
+        Object[] current = segments[segment];
+        int end = segment == last ? lastOffset + 1 : SEGMENT_SIZE;
+        System.arraycopy(current, offset + 1, current, offset, end - offset - 1);
+        // Переносим первый элемент каждого следующего сегмента в конец предыдущего
+        for (int s = segment + 1; s <= last; s++) {
+            Object[] next = segments[s];
+            current[SEGMENT_MASK] = next[0];
+            System.arraycopy(next, 1, next, 0, s == last ? lastOffset : SEGMENT_SIZE - 1);
+            current = next;
+        }
+        segments[last][lastOffset] = null;
+        size = lastIndex;
+        if (segmentCount - 1 > (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)) {
+            segments[--segmentCount] = null; // Оставляем не больше одного пустого сегмента
+        }
+    }
+
+    /**
+     * Очищает список, освобождая все сегменты.
+     */
+    public void clear() {
+        segments = new Object[INITIAL_DIRECTORY_LENGTH][];
+        segmentCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Возвращает текущее количество элементов в списке.
+     *
+     * @return количество элементов в списке
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуст ли список.
+     *
+     * @return true, если список пуст, иначе false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента по порядку, обходя сегменты без вычисления
+     * положения каждого индекса.
+     *
+     * @param action действие
+     * @throws NullPointerException если действие равно {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        long remaining = size;
+        for (int s = 0; remaining > 0; s++) {
+            Object[] segment = segments[s];
+            int count = (int) Math.min(remaining, SEGMENT_SIZE);
+            for (int i = 0; i < count; i++) {
+                action.accept((T) segment[i]);
+            }
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Выделяет новый сегмент в конце, при необходимости удваивая каталог.
+     */
+    private void addSegment() {
+        if (segmentCount == segments.length) {
+            if (segmentCount == MAX_DIRECTORY_LENGTH) {
+                throw new OutOfMemoryError("Превышен наибольший размер списка");
+            }
+            segments = Arrays.copyOf(segments, (int) Math.min(segments.length * 2L, MAX_DIRECTORY_LENGTH));
+        }
+        segments[segmentCount++] = new Object[SEGMENT_SIZE];
+    }
+}
@@ -0,0 +1,520 @@
+package org.example;
+
+/**
+ * Ограниченный кэш поверх {@link MyOwnHashMap}.
+ * <p>
+ * Кэш ограничивает либо количество элементов, либо их суммарный вес, вычисляемый функцией
+ * {@link Weigher}. При превышении ограничения элементы вытесняются по выбранной политике:
+ * <ul>
+ *     <li>{@link Policy#LRU} - вытесняется элемент, к которому дольше всего не обращались.
+ *     Элементы связаны в список порядка доступа прямо через свои узлы, поэтому обращение
+ *     и вытеснение выполняются за O(1).</li>
+ *     <li>{@link Policy#TINY_LFU} - W-TinyLFU: новые элементы попадают в небольшое окно LRU
+ *     (1% веса), а затем в основную область из испытательного и защищенного сегментов.
+ *     Элемент, вытесненный из окна, допускается в основную область, только если по оценке
+ *     частоты обращений он популярнее кандидата на вытеснение. Частоты хранятся в скетче
+ *     count-min с четырехбитными счетчиками, которые периодически делятся пополам, чтобы
+ *     старая популярность со временем забывалась.</li>
+ * </ul>
+ * Каждая операция перемещает узел между списками за O(1); вытеснение амортизированно
+ * стоит O(1) на операцию, так как каждый элемент вытесняется не более одного раза.
+ * <p>
+ * Кэш не потокобезопасен. Ключи и значения {@code null} не поддерживаются.
+ *
+ * @param <K> тип ключей, поддерживаемых этим кэшем
+ * @param <V> тип значений, отображаемых этим кэшем
+ */
+public class MyOwnCache<K, V> implements MyOwnMap<K, V> {
+    static final int WINDOW_PERCENT = 1; // Доля окна в процентах от максимального веса
+    static final int PROTECTED_PERCENT = 80; // Доля защищенного сегмента в основной области
+
+    // Списки, в которых может находиться узел
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    /**
+     * Политика вытеснения.
+     */
+    public enum Policy {
+        /**
+         * Вытесняется элемент, к которому дольше всего не обращались.
+         */
+        LRU,
+        /**
+         * W-TinyLFU: окно LRU и основная область с допуском по частоте обращений.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * Функция веса элемента.
+     *
+     * @param <K> тип ключей
+     * @param <V> тип значений
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        /**
+         * Возвращает вес элемента.
+         *
+         * @param key   ключ
+         * @param value значение
+         * @return неотрицательный вес
+         */
+        int weigh(K key, V value);
+    }
+
+    /**
+     * Узел кэша: хранит значение и одновременно является звеном списка порядка доступа.
+     */
+    static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        byte queue; // Список, в котором находится узел
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Двусвязный список узлов в порядке доступа: в начале самый давний, в конце самый свежий.
+     */
+    static final class AccessOrderDeque<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                unlink(node);
+                addLast(node);
+            }
+        }
+    }
+
+    private final MyOwnHashMap<K, Node<K, V>> data;
+    private final Weigher<? super K, ? super V> weigher;
+    private final Policy policy;
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    // В режиме LRU все элементы находятся в списке probation
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+    private final FrequencySketch sketch;
+    private long weightedSize;
+    private long windowWeight;
+    private long protectedWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Конструктор, создающий кэш W-TinyLFU, ограниченный количеством элементов.
+     *
+     * @param maximumSize наибольшее количество элементов
+     * @throws IllegalArgumentException если ограничение отрицательно
+     */
+    public MyOwnCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, Policy.TINY_LFU);
+    }
+
+    /**
+     * Конструктор, создающий кэш, ограниченный количеством элементов.
+     *
+     * @param maximumSize наибольшее количество элементов
+     * @param policy      политика вытеснения
+     * @throws IllegalArgumentException если ограничение отрицательно
+     */
+    public MyOwnCache(long maximumSize, Policy policy) {
+        this(maximumSize, (key, value) -> 1, policy);
+    }
+
+    /**
+     * Конструктор, создающий кэш, ограниченный суммарным весом элементов.
+     *
+     * @param maximumWeight наибольший суммарный вес
+     * @param weigher       функция веса элемента
+     * @param policy        политика вытеснения
+     * @throws IllegalArgumentException если ограничение отрицательно
+     */
+    public MyOwnCache(long maximumWeight, Weigher<? super K, ? super V> weigher, Policy policy) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Недопустимое ограничение: " + maximumWeight);
+        }
+        if (weigher == null || policy == null) {
+            throw new NullPointerException();
+        }
+        this.maximum = maximumWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+        this.data = new MyOwnHashMap<>((int) Math.min(Math.min(maximumWeight, 1 << 16), Integer.MAX_VALUE));
+        if (policy == Policy.TINY_LFU) {
+            this.windowMaximum = Math.max(1, maximumWeight * WINDOW_PERCENT / 100);
+            this.protectedMaximum = (maximumWeight - windowMaximum) * PROTECTED_PERCENT / 100;
+            this.sketch = new FrequencySketch();
+        } else {
+            this.windowMaximum = 0;
+            this.protectedMaximum = 0;
+            this.sketch = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Обращение обновляет порядок доступа и учитывается в счетчиках попаданий и промахов.
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Если суммарный вес превысит ограничение, лишние элементы вытесняются; обновление
+     * не считается обращением в счетчиках попаданий и промахов.
+     *
+     * @throws NullPointerException     если ключ или значение равны {@code null}
+     * @throws IllegalArgumentException если функция веса вернула отрицательное значение
+     */
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Недопустимый вес: " + weight);
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        Node<K, V> node = data.get(key);
+        V previous = null;
+        if (node != null) {
+            int delta = weight - node.weight;
+            previous = node.value;
+            node.value = value;
+            node.weight = weight;
+            weightedSize += delta;
+            if (node.queue == WINDOW) {
+                windowWeight += delta;
+            } else if (node.queue == PROTECTED) {
+                protectedWeight += delta;
+            }
+            onAccess(node);
+        } else {
+            node = new Node<>(key, value, weight);
+            data.put(key, node);
+            weightedSize += weight;
+            if (policy == Policy.TINY_LFU) {
+                node.queue = WINDOW;
+                window.addLast(node);
+                windowWeight += weight;
+            } else {
+                node.queue = PROBATION;
+                probation.addLast(node);
+            }
+            if (sketch != null) {
+                sketch.ensureCapacity(data.size());
+            }
+        }
+        evict();
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public void remove(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            data.remove(key);
+            unlink(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Возвращает суммарный вес элементов кэша.
+     *
+     * @return суммарный вес; для кэша, ограниченного количеством, совпадает с размером
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * Возвращает количество обращений через {@link #get}, нашедших значение.
+     *
+     * @return количество попаданий
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Возвращает количество обращений через {@link #get}, не нашедших значение.
+     *
+     * @return количество промахов
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Возвращает количество элементов, вытесненных из-за превышения ограничения.
+     *
+     * @return количество вытеснений
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Обновляет положение узла после обращения к нему. В W-TinyLFU повторное обращение
+     * к элементу испытательного сегмента переводит его в защищенный.
+     */
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.moveToLast(node);
+        } else if (node.queue == PROTECTED) {
+            protectedDeque.moveToLast(node);
+        } else if (policy == Policy.LRU) {
+            probation.moveToLast(node);
+        } else {
+            probation.unlink(node);
+            node.queue = PROTECTED;
+            protectedDeque.addLast(node);
+            protectedWeight += node.weight;
+            // Переполненный защищенный сегмент возвращает самые давние элементы на испытание
+            while (protectedWeight > protectedMaximum && protectedDeque.first != node) {
+                Node<K, V> demoted = protectedDeque.first;
+                protectedDeque.unlink(demoted);
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+                protectedWeight -= demoted.weight;
+            }
+        }
+    }
+
+    /**
+     * Вытесняет элементы, пока суммарный вес превышает ограничение.
+     */
+    private void evict() {
+        if (policy == Policy.LRU) {
+            while (weightedSize > maximum) {
+                evictNode(probation.first);
+            }
+            return;
+        }
+        // Элементы, переполнившие окно, переходят в конец испытательного сегмента кандидатами
+        Node<K, V> candidate = null;
+        while (windowWeight > windowMaximum) {
+            Node<K, V> node = window.first;
+            window.unlink(node);
+            windowWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+        // Кандидаты соревнуются с самыми давними элементами испытательного сегмента
+        while (weightedSize > maximum) {
+            Node<K, V> victim = probation.first;
+            if (victim == null) {
+                victim = protectedDeque.first != null ? protectedDeque.first : window.first;
+                evictNode(victim);
+            } else if (candidate == null || candidate == victim) {
+                candidate = null;
+                evictNode(victim);
+            } else if (candidate.weight > maximum || !admit(candidate.key, victim.key)) {
+                Node<K, V> rejected = candidate;
+                candidate = candidate.next;
+                evictNode(rejected);
+            } else {
+                evictNode(victim);
+            }
+        }
+    }
+
+    /**
+     * Решает, допустить ли кандидата ценой вытеснения жертвы.
+     */
+    private boolean admit(K candidateKey, K victimKey) {
+        return sketch.frequency(candidateKey) > sketch.frequency(victimKey);
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key);
+        unlink(node);
+        evictionCount++;
+    }
+
+    /**
+     * Исключает узел из его списка и из суммарного веса.
+     */
+    private void unlink(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.unlink(node);
+            windowWeight -= node.weight;
+        } else if (node.queue == PROTECTED) {
+            protectedDeque.unlink(node);
+            protectedWeight -= node.weight;
+        } else {
+            probation.unlink(node);
+        }
+        weightedSize -= node.weight;
+    }
+
+    /**
+     * Скетч count-min для оценки частоты обращений. Каждое значение {@code long} хранит
+     * шестнадцать четырехбитных счетчиков. Элемент учитывается в четырех счетчиках из четырех
+     * значений, выбранных независимыми хэшами (значения могут совпасть); в i-м значении берется
+     * счетчик {@code 4 * (hash & 3) + i}. Оценкой служит минимальный из четырех счетчиков.
+     * После числа увеличений, в десять раз превышающего размер таблицы, все счетчики делятся пополам.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_TABLE_SIZE = 1 << 24;
+
+        private long[] table = new long[0];
+        private int tableMask;
+        private int sampleSize;
+        private int additions;
+
+        FrequencySketch() {
+            ensureCapacity(MyOwnHashMap.DEFAULT_CAPACITY);
+        }
+
+        /**
+         * Увеличивает таблицу под указанное количество элементов. Накопленные частоты при этом
+         * сбрасываются, поэтому таблица растет только удвоением.
+         */
+        void ensureCapacity(int expectedSize) {
+            if (expectedSize <= table.length || table.length >= MAX_TABLE_SIZE) {
+                return;
+            }
+            int size = Math.min(MyOwnHashMap.tableSizeFor(Math.max(expectedSize, table.length << 1)), MAX_TABLE_SIZE);
+            table = new long[size];
+            tableMask = size - 1;
+            sampleSize = 10 * size;
+            additions = 0;
+        }
+
+        /**
+         * Возвращает оценку частоты элемента, от 0 до 15.
+         */
+        int frequency(Object item) {
+            int hash = spread(item.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        /**
+         * Учитывает обращение к элементу.
+         */
+        void increment(Object item) {
+            int hash = spread(item.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                long mask = 0xfL << offset;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                reset();
+            }
+        }
+
+        /**
+         * Делит все счетчики пополам.
+         */
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions >>>= 1;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+
+        private static int spread(int h) {
+            h = MyOwnOpenHashMap.mix(h);
+            return h ^ (h >>> 17);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Преобразование значений в байты и обратно для карт, хранящих данные вне кучи.
+ * Все встроенные кодеки пишут числа в порядке байтов little-endian, поэтому данные
+ * переносимы между платформами.
+ *
+ * @param <T> тип кодируемых значений
+ */
+public interface MyOwnCodec<T> {
+    ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Возвращает количество байтов, которое займет значение.
+     *
+     * @param value значение
+     * @return размер в байтах
+     */
+    int size(T value);
+
+    /**
+     * Записывает значение в сегмент. Запись занимает ровно {@link #size(Object)} байтов.
+     *
+     * @param segment сегмент памяти
+     * @param offset  смещение начала записи
+     * @param value   значение
+     */
+    void write(MemorySegment segment, long offset, T value);
+
+    /**
+     * Читает значение из сегмента.
+     *
+     * @param segment сегмент памяти
+     * @param offset  смещение начала записи
+     * @param length  длина записи в байтах
+     * @return прочитанное значение
+     */
+    T read(MemorySegment segment, long offset, int length);
+
+    /**
+     * Возвращает кодек для {@link Integer} фиксированной ширины 4 байта.
+     *
+     * @return кодек целых чисел
+     */
+    static MyOwnCodec<Integer> ints() {
+        return new MyOwnCodec<>() {
+            @Override
+            public int size(Integer value) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(MemorySegment segment, long offset, Integer value) {
+                segment.set(INT, offset, value);
+            }
+
+            @Override
+            public Integer read(MemorySegment segment, long offset, int length) {
+                return segment.get(INT, offset);
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек для {@link Long} фиксированной ширины 8 байтов.
+     *
+     * @return кодек длинных целых чисел
+     */
+    static MyOwnCodec<Long> longs() {
+        return new MyOwnCodec<>() {
+            @Override
+            public int size(Long value) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(MemorySegment segment, long offset, Long value) {
+                segment.set(LONG, offset, value);
+            }
+
+            @Override
+            public Long read(MemorySegment segment, long offset, int length) {
+                return segment.get(LONG, offset);
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек строк в UTF-8 переменной длины.
+     *
+     * @return кодек строк
+     */
+    static MyOwnCodec<String> strings() {
+        return new MyOwnCodec<>() {
+            @Override
+            public int size(String value) {
+                int bytes = 0;
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c < 0x80) {
+                        bytes += 1;
+                    } else if (c < 0x800) {
+                        bytes += 2;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        bytes += 4;
+                        i++;
+                    } else if (Character.isSurrogate(c)) {
+                        bytes += 1; // Непарный суррогат кодируется символом '?'
+                    } else {
+                        bytes += 3;
+                    }
+                }
+                return bytes;
+            }
+
+            @Override
+            public void write(MemorySegment segment, long offset, String value) {
+                // Кодирование прямо в сегмент, без промежуточного массива; результат совпадает с getBytes
+                long p = offset;
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c < 0x80) {
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) c);
+                    } else if (c < 0x800) {
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0xC0 | c >> 6));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0x80 | c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0xF0 | codePoint >> 18));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0x80 | codePoint & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) '?');
+                    } else {
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0xE0 | c >> 12));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0x80 | c >> 6 & 0x3F));
+                        segment.set(ValueLayout.JAVA_BYTE, p++, (byte) (0x80 | c & 0x3F));
+                    }
+                }
+            }
+
+            @Override
+            public String read(MemorySegment segment, long offset, int length) {
+                byte[] bytes = new byte[length];
+                MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек массивов байтов переменной длины.
+     *
+     * @return кодек массивов байтов
+     */
+    static MyOwnCodec<byte[]> bytes() {
+        return new MyOwnCodec<>() {
+            @Override
+            public int size(byte[] value) {
+                return value.length;
+            }
+
+            @Override
+            public void write(MemorySegment segment, long offset, byte[] value) {
+                MemorySegment.copy(value, 0, segment, ValueLayout.JAVA_BYTE, offset, value.length);
+            }
+
+            @Override
+            public byte[] read(MemorySegment segment, long offset, int length) {
+                byte[] bytes = new byte[length];
+                MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+                return bytes;
+            }
+        };
+    }
+}
@@ -0,0 +1,627 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Потокобезопасная хэш-таблица с отдельными цепочками.
+ * <p>
+ * Чтение не берет блокировок: ячейки таблицы читаются с семантикой acquire, а значения
+ * элементов объявлены {@code volatile}. Вставка в пустую корзину выполняется одной операцией CAS,
+ * изменение непустой корзины - под монитором ее первого элемента, поэтому писатели в разные
+ * корзины не мешают друг другу. Количество элементов хранится в распределенном счетчике
+ * {@link LongAdder}, чтобы потоки не боролись за одну ячейку памяти.
+ * <p>
+ * Рост таблицы кооперативный: поток, начавший перенос, и любой писатель, наткнувшийся на уже
+ * перенесенную корзину, забирают диапазоны корзин и переносят их параллельно. Перенесенная
+ * корзина заменяется узлом-переадресацией, через который читатели находят элементы в новой таблице.
+ * <p>
+ * Ключи и значения {@code null} не поддерживаются: {@code null} из {@link #get} всегда означает
+ * отсутствие отображения.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public class MyOwnConcurrentHashMap<K, V> implements MyOwnMap<K, V> {
+    static final int MOVED = -1; // Хэш узла-переадресации
+    static final int RESERVED = -2; // Хэш узла-резервации на время computeIfAbsent
+    static final int HASH_BITS = 0x7fffffff; // Обычные хэши неотрицательны
+    private static final int MIN_TRANSFER_STRIDE = 16; // Минимальный диапазон корзин, забираемый одним потоком
+    private static final int RESIZE_STAMP_BITS = 16;
+    private static final int RESIZE_STAMP_SHIFT = 32 - RESIZE_STAMP_BITS;
+    private static final int MAX_RESIZERS = (1 << (32 - RESIZE_STAMP_BITS)) - 1;
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    private static final VarHandle TABLE_ELEMENT = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle SIZE_CTL;
+    private static final VarHandle TRANSFER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SIZE_CTL = lookup.findVarHandle(MyOwnConcurrentHashMap.class, "sizeCtl", int.class);
+            TRANSFER_INDEX = lookup.findVarHandle(MyOwnConcurrentHashMap.class, "transferIndex", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Элемент цепочки. Поля {@code value} и {@code next} изменяются только под монитором
+     * первого элемента корзины, а читаются без блокировок.
+     */
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /**
+         * Ищет элемент с указанным ключом, начиная с этого узла.
+         */
+        Node<K, V> find(int h, Object k) {
+            Node<K, V> e = this;
+            do {
+                K ek;
+                if (e.hash == h && ((ek = e.key) == k || (ek != null && k.equals(ek)))) {
+                    return e;
+                }
+            } while ((e = e.next) != null);
+            return null;
+        }
+    }
+
+    /**
+     * Узел, которым помечается уже перенесенная корзина старой таблицы.
+     */
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+
+        @Override
+        Node<K, V> find(int h, Object k) {
+            outer:
+            for (Node<K, V>[] tab = nextTable; ; ) {
+                Node<K, V> e;
+                if ((e = tabAt(tab, (tab.length - 1) & h)) == null) {
+                    return null;
+                }
+                for (; ; ) {
+                    int eh = e.hash;
+                    K ek;
+                    if (eh == h && ((ek = e.key) == k || (ek != null && k.equals(ek)))) {
+                        return e;
+                    }
+                    if (eh < 0) {
+                        if (e instanceof ForwardingNode) {
+                            tab = ((ForwardingNode<K, V>) e).nextTable;
+                            continue outer;
+                        }
+                        return e.find(h, k);
+                    }
+                    if ((e = e.next) == null) {
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Узел, занимающий пустую корзину, пока {@link #computeIfAbsent} вычисляет значение.
+     */
+    static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+
+        @Override
+        Node<K, V> find(int h, Object k) {
+            return null;
+        }
+    }
+
+    private volatile Node<K, V>[] table;
+    private volatile Node<K, V>[] nextTable; // Таблица, в которую идет перенос, или null
+    /**
+     * Управление размером таблицы: -1 во время создания таблицы; во время переноса старшие
+     * 16 бит содержат отметку размера таблицы, а младшие - число переносящих потоков плюс один;
+     * иначе - порог следующего роста (или начальный размер, пока таблица не создана).
+     */
+    private volatile int sizeCtl;
+    private volatile int transferIndex; // Граница еще не розданных для переноса корзин
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с емкостью по умолчанию.
+     */
+    public MyOwnConcurrentHashMap() {
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту, вмещающую указанное число элементов без роста.
+     *
+     * @param capacity ожидаемое количество элементов
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnConcurrentHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        long required = (long) (1.0 + capacity / (double) MyOwnHashMap.DEFAULT_LOAD_FACTOR);
+        this.sizeCtl = MyOwnHashMap.tableSizeFor((int) Math.min(required, MyOwnHashMap.MAXIMUM_CAPACITY));
+    }
+
+    /**
+     * Вычисляет хэш для данного ключа: подмешивает старшие биты в младшие и сбрасывает знак,
+     * так как отрицательные хэши зарезервированы за служебными узлами.
+     */
+    static int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int i) {
+        return (Node<K, V>) TABLE_ELEMENT.getAcquire(tab, i);
+    }
+
+    static <K, V> boolean casTabAt(Node<K, V>[] tab, int i, Node<K, V> expected, Node<K, V> value) {
+        return TABLE_ELEMENT.compareAndSet(tab, i, expected, value);
+    }
+
+    static <K, V> void setTabAt(Node<K, V>[] tab, int i, Node<K, V> value) {
+        TABLE_ELEMENT.setRelease(tab, i, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ или значение равны {@code null}
+     */
+    @Override
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     * Атомарно ассоциирует значение с ключом, если ключ еще не отображен.
+     *
+     * @param key   ключ, с которым требуется ассоциировать указанное значение
+     * @param value значение, которое следует ассоциировать с указанным ключом
+     * @return текущее значение ключа или {@code null}, если значение было добавлено
+     * @throws NullPointerException если ключ или значение равны {@code null}
+     */
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Не берет блокировок.
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public V get(K key) {
+        int h = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        Node<K, V> e;
+        if (tab == null || (e = tabAt(tab, (tab.length - 1) & h)) == null) {
+            return null;
+        }
+        int eh = e.hash;
+        if (eh == h) {
+            K ek = e.key;
+            if (ek == key || key.equals(ek)) {
+                return e.value;
+            }
+        } else if (eh < 0) {
+            Node<K, V> p = e.find(h, key);
+            return p == null ? null : p.value;
+        }
+        while ((e = e.next) != null) {
+            if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public void remove(K key) {
+        int hash = spread(key.hashCode());
+        for (Node<K, V>[] tab = table; ; ) {
+            Node<K, V> f;
+            int i;
+            if (tab == null || (f = tabAt(tab, i = (tab.length - 1) & hash)) == null) {
+                return;
+            }
+            int fh = f.hash;
+            if (fh == MOVED) {
+                tab = helpTransfer(tab, f);
+                continue;
+            }
+            boolean validated = false;
+            boolean removed = false;
+            synchronized (f) {
+                if (tabAt(tab, i) == f) {
+                    if (fh >= 0) {
+                        validated = true;
+                        for (Node<K, V> e = f, pred = null; e != null; pred = e, e = e.next) {
+                            if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                                if (pred == null) {
+                                    setTabAt(tab, i, e.next);
+                                } else {
+                                    pred.next = e.next;
+                                }
+                                removed = true;
+                                break;
+                            }
+                        }
+                    } else if (f instanceof ReservationNode) {
+                        throw new IllegalStateException("Рекурсивное изменение карты внутри computeIfAbsent");
+                    }
+                }
+            }
+            if (validated) {
+                if (removed) {
+                    addCount(-1, -1);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Возвращает значение ключа, а если его нет - атомарно вычисляет и добавляет его.
+     * Функция вызывается не более одного раза на ключ; на время ее работы остальные изменения
+     * этой корзины ждут, поэтому функция должна быть короткой и не должна изменять эту карту.
+     *
+     * @param key             ключ, значение которого нужно вернуть или вычислить
+     * @param mappingFunction функция, вычисляющая значение; результат {@code null} ничего не добавляет
+     * @return текущее или вычисленное значение, либо {@code null}, если функция вернула {@code null}
+     * @throws NullPointerException  если ключ или функция равны {@code null}
+     * @throws IllegalStateException если функция рекурсивно изменяет эту карту
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new NullPointerException();
+        }
+        int h = spread(key.hashCode());
+        V val = null;
+        int binCount = 0;
+        for (Node<K, V>[] tab = table; ; ) {
+            Node<K, V> f;
+            int i, fh;
+            V fv;
+            if (tab == null || tab.length == 0) {
+                tab = initTable();
+            } else if ((f = tabAt(tab, i = (tab.length - 1) & h)) == null) {
+                Node<K, V> r = new ReservationNode<>();
+                synchronized (r) {
+                    if (casTabAt(tab, i, null, r)) {
+                        binCount = 1;
+                        Node<K, V> node = null;
+                        try {
+                            if ((val = mappingFunction.apply(key)) != null) {
+                                node = new Node<>(h, key, val, null);
+                            }
+                        } finally {
+                            setTabAt(tab, i, node);
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    break;
+                }
+            } else if ((fh = f.hash) == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else if (fh == h && (f.key == key || key.equals(f.key)) && (fv = f.value) != null) {
+                return fv;
+            } else {
+                boolean added = false;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (fh >= 0) {
+                            binCount = 1;
+                            for (Node<K, V> e = f; ; ++binCount) {
+                                if (e.hash == h && (e.key == key || key.equals(e.key))) {
+                                    val = e.value;
+                                    break;
+                                }
+                                Node<K, V> pred = e;
+                                if ((e = e.next) == null) {
+                                    if ((val = mappingFunction.apply(key)) != null) {
+                                        if (pred.next != null) {
+                                            throw new IllegalStateException("Рекурсивное изменение карты внутри computeIfAbsent");
+                                        }
+                                        added = true;
+                                        pred.next = new Node<>(h, key, val, null);
+                                    }
+                                    break;
+                                }
+                            }
+                        } else if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Рекурсивное изменение карты внутри computeIfAbsent");
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (!added) {
+                        return val;
+                    }
+                    break;
+                }
+            }
+        }
+        if (val != null) {
+            addCount(1, binCount);
+        }
+        return val;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Значение собирается из распределенного счетчика и во время одновременных изменений приблизительно.
+     */
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n);
+    }
+
+    /**
+     * Общая реализация {@link #put} и {@link #putIfAbsent}.
+     */
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key.hashCode());
+        int binCount = 0;
+        for (Node<K, V>[] tab = table; ; ) {
+            Node<K, V> f;
+            int i, fh;
+            V fv;
+            if (tab == null || tab.length == 0) {
+                tab = initTable();
+            } else if ((f = tabAt(tab, i = (tab.length - 1) & hash)) == null) {
+                if (casTabAt(tab, i, null, new Node<>(hash, key, value, null))) {
+                    break; // Пустая корзина заполнена без блокировки
+                }
+            } else if ((fh = f.hash) == MOVED) {
+                tab = helpTransfer(tab, f);
+            } else if (onlyIfAbsent && fh == hash && (f.key == key || key.equals(f.key))
+                    && (fv = f.value) != null) {
+                return fv;
+            } else {
+                V oldVal = null;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (fh >= 0) {
+                            binCount = 1;
+                            for (Node<K, V> e = f; ; ++binCount) {
+                                if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                                    oldVal = e.value;
+                                    if (!onlyIfAbsent) {
+                                        e.value = value;
+                                    }
+                                    break;
+                                }
+                                Node<K, V> pred = e;
+                                if ((e = e.next) == null) {
+                                    pred.next = new Node<>(hash, key, value, null);
+                                    break;
+                                }
+                            }
+                        } else if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Рекурсивное изменение карты внутри computeIfAbsent");
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (oldVal != null) {
+                        return oldVal;
+                    }
+                    break;
+                }
+            }
+        }
+        addCount(1, binCount);
+        return null;
+    }
+
+    /**
+     * Создает таблицу при первой вставке. Только один поток выделяет массив, остальные ждут.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<K, V>[] initTable() {
+        Node<K, V>[] tab;
+        int sc;
+        while ((tab = table) == null || tab.length == 0) {
+            if ((sc = sizeCtl) < 0) {
+                Thread.yield(); // Таблицу создает другой поток
+            } else if (SIZE_CTL.compareAndSet(this, sc, -1)) {
+                try {
+                    if ((tab = table) == null || tab.length == 0) {
+                        int n = sc > 0 ? sc : MyOwnHashMap.DEFAULT_CAPACITY;
+                        tab = (Node<K, V>[]) new Node<?, ?>[n];
+                        table = tab;
+                        sc = n - (n >>> 2);
+                    }
+                } finally {
+                    sizeCtl = sc;
+                }
+                break;
+            }
+        }
+        return tab;
+    }
+
+    /**
+     * Возвращает отметку переноса для таблицы размера {@code n}; сдвинутая на
+     * {@link #RESIZE_STAMP_SHIFT} бит, она дает отрицательное значение {@code sizeCtl}.
+     */
+    static int resizeStamp(int n) {
+        return Integer.numberOfLeadingZeros(n) | (1 << (RESIZE_STAMP_BITS - 1));
+    }
+
+    /**
+     * Изменяет счетчик элементов и, если {@code check >= 0}, начинает перенос или присоединяется
+     * к уже идущему, когда количество элементов достигло порога.
+     */
+    private void addCount(long x, int check) {
+        count.add(x);
+        if (check < 0) {
+            return;
+        }
+        Node<K, V>[] tab, nt;
+        int n, sc;
+        long s = count.sum();
+        while (s >= (long) (sc = sizeCtl) && (tab = table) != null
+                && (n = tab.length) < MyOwnHashMap.MAXIMUM_CAPACITY) {
+            int rs = resizeStamp(n) << RESIZE_STAMP_SHIFT;
+            if (sc < 0) {
+                if (sc == rs + MAX_RESIZERS || sc == rs + 1 || (nt = nextTable) == null || transferIndex <= 0) {
+                    break;
+                }
+                if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                    transfer(tab, nt);
+                }
+            } else if (SIZE_CTL.compareAndSet(this, sc, rs + 2)) {
+                transfer(tab, null);
+            }
+            s = count.sum();
+        }
+    }
+
+    /**
+     * Помогает переносу, если писатель наткнулся на перенесенную корзину.
+     *
+     * @return таблица, в которой следует повторить операцию
+     */
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, Node<K, V> f) {
+        Node<K, V>[] nextTab;
+        int sc;
+        if (f instanceof ForwardingNode && (nextTab = ((ForwardingNode<K, V>) f).nextTable) != null) {
+            int rs = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+            while (nextTab == nextTable && table == tab && (sc = sizeCtl) < 0) {
+                if (sc == rs + MAX_RESIZERS || sc == rs + 1 || transferIndex <= 0) {
+                    break;
+                }
+                if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                    transfer(tab, nextTab);
+                    break;
+                }
+            }
+            return nextTab;
+        }
+        return table;
+    }
+
+    /**
+     * Переносит корзины в таблицу вдвое большего размера. Каждый участвующий поток забирает
+     * диапазон корзин, уменьшая {@code transferIndex}, и переносит их, начиная с конца диапазона.
+     * Последний завершивший поток еще раз проверяет всю таблицу и публикует новую.
+     */
+    @SuppressWarnings("unchecked")
+    private void transfer(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+        int n = tab.length;
+        int stride = NCPU > 1 ? (n >>> 3) / NCPU : n;
+        if (stride < MIN_TRANSFER_STRIDE) {
+            stride = MIN_TRANSFER_STRIDE;
+        }
+        if (nextTab == null) {
+            try {
+                nextTab = (Node<K, V>[]) new Node<?, ?>[n << 1];
+            } catch (OutOfMemoryError e) {
+                sizeCtl = Integer.MAX_VALUE;
+                return;
+            }
+            nextTable = nextTab;
+            transferIndex = n;
+        }
+        int nextn = nextTab.length;
+        ForwardingNode<K, V> fwd = new ForwardingNode<>(nextTab);
+        boolean advance = true;
+        boolean finishing = false;
+        for (int i = 0, bound = 0; ; ) {
+            Node<K, V> f;
+            int fh;
+            while (advance) {
+                int nextIndex, nextBound;
+                if (--i >= bound || finishing) {
+                    advance = false;
+                } else if ((nextIndex = transferIndex) <= 0) {
+                    i = -1;
+                    advance = false;
+                } else if (TRANSFER_INDEX.compareAndSet(this, nextIndex,
+                        nextBound = (nextIndex > stride ? nextIndex - stride : 0))) {
+                    bound = nextBound;
+                    i = nextIndex - 1;
+                    advance = false;
+                }
+            }
+            if (i < 0 || i >= n || i + n >= nextn) {
+                int sc;
+                if (finishing) {
+                    nextTable = null;
+                    table = nextTab;
+                    sizeCtl = (n << 1) - (n >>> 1);
+                    return;
+                }
+                if (SIZE_CTL.compareAndSet(this, sc = sizeCtl, sc - 1)) {
+                    if ((sc - 2) != resizeStamp(n) << RESIZE_STAMP_SHIFT) {
+                        return; // Перенос завершат другие потоки
+                    }
+                    finishing = advance = true;
+                    i = n; // Повторная проверка всех корзин перед публикацией
+                }
+            } else if ((f = tabAt(tab, i)) == null) {
+                advance = casTabAt(tab, i, null, fwd);
+            } else if ((fh = f.hash) == MOVED) {
+                advance = true; // Уже перенесена
+            } else {
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (fh >= 0) {
+                            // Узлы копируются: читатели старой таблицы могут продолжать обход цепочки
+                            Node<K, V> ln = null, hn = null;
+                            for (Node<K, V> p = f; p != null; p = p.next) {
+                                if ((p.hash & n) == 0) {
+                                    ln = new Node<>(p.hash, p.key, p.value, ln);
+                                } else {
+                                    hn = new Node<>(p.hash, p.key, p.value, hn);
+                                }
+                            }
+                            setTabAt(nextTab, i, ln);
+                            setTabAt(nextTab, i + n, hn);
+                            setTabAt(tab, i, fwd);
+                            advance = true;
+                        } else if (f instanceof ReservationNode) {
+                            throw new IllegalStateException("Рекурсивное изменение карты внутри computeIfAbsent");
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Список значений типа {@code double} без упаковки.
+ * <p>
+ * Повторяет API {@link MyOwnArrayList}, но хранит элементы в массиве {@code double[]}: элемент
+ * занимает 8 байт вместо ссылки и объекта {@link Double}, а {@link #get(int)} читает значение
+ * без перехода по ссылке. Сортировка, двоичный поиск и агрегаты {@link #sum()}, {@link #min()} и
+ * {@link #max()} работают прямо по внутреннему массиву; циклы агрегатов простые и без ветвлений,
+ * чтобы JIT-компилятор мог векторизовать их.
+ */
+public class MyOwnDoubleArrayList {
+    private static final int DEFAULT_CAPACITY = 10; // Начальная емкость списка по умолчанию
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // Наибольший размер массива в JVM
+
+    private double[] array; // Внутренний массив для хранения элементов
+    private int size; // Текущее количество элементов в списке
+
+    /**
+     * Создает новый пустой список с емкостью по умолчанию.
+     */
+    public MyOwnDoubleArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает новый пустой список, вмещающий указанное число элементов без роста.
+     *
+     * @param capacity начальная емкость
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnDoubleArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        this.array = new double[capacity];
+    }
+
+    /**
+     * Добавляет элемент в конец списка.
+     *
+     * @param element элемент, который нужно добавить в список
+     */
+    public void add(double element) {
+        if (size == array.length) {
+            increaseCapacity();
+        }
+        array[size++] = element;
+    }
+
+    /**
+     * Добавляет элемент по указанному индексу в список.
+     *
+     * @param index   индекс, по которому нужно добавить элемент
+     * @param element элемент, который нужно добавить в список
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void add(int index, double element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        if (size == array.length) {
+            increaseCapacity();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно получить
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        return array[index];
+    }
+
+    /**
+     * Заменяет элемент в списке по указанному индексу новым элементом.
+     *
+     * @param index   индекс элемента, который нужно заменить
+     * @param element новый элемент для замены
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void set(int index, double element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        array[index] = element;
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно удалить
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Очищает список, удаляя все элементы. Емкость сохраняется.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает текущее количество элементов в списке.
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуст ли список.
+     *
+     * @return true, если список пуст, иначе false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает копию элементов списка в виде массива.
+     *
+     * @return массив элементов
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Сортирует элементы в порядке возрастания на месте. Порядок совпадает с
+     * {@link Double#compare}: {@code -0.0} идет перед {@code 0.0}, а {@code NaN} - в конце.
+     */
+    public void sort() {
+        Arrays.sort(array, 0, size);
+    }
+
+    /**
+     * Ищет элемент двоичным поиском. Список должен быть отсортирован по возрастанию,
+     * например методом {@link #sort()}.
+     *
+     * @param key искомое значение
+     * @return индекс элемента, если он найден, иначе {@code -(точка вставки) - 1}
+     */
+    public int binarySearch(double key) {
+        return Arrays.binarySearch(array, 0, size, key);
+    }
+
+    /**
+     * Возвращает сумму элементов. Сумма накапливается в четырех независимых частичных суммах,
+     * которые процессор и JIT-компилятор складывают параллельно, поэтому округление может
+     * незначительно отличаться от последовательного сложения.
+     *
+     * @return сумма элементов или {@code 0.0} для пустого списка
+     */
+    public double sum() {
+        double[] array = this.array;
+        int size = this.size;
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int i = 0;
+        for (; i + 3 < size; i += 4) {
+            s0 += array[i];
+            s1 += array[i + 1];
+            s2 += array[i + 2];
+            s3 += array[i + 3];
+        }
+        for (; i < size; i++) {
+            s0 += array[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Возвращает наименьший элемент.
+     *
+     * @return наименьший элемент или {@code NaN}, если он есть в списке
+     * @throws NoSuchElementException если список пуст
+     */
+    public double min() {
+        double[] array = this.array;
+        int size = this.size;
+        if (size == 0) {
+            throw new NoSuchElementException("Список пуст");
+        }
+        double min = array[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Возвращает наибольший элемент.
+     *
+     * @return наибольший элемент или {@code NaN}, если он есть в списке
+     * @throws NoSuchElementException если список пуст
+     */
+    public double max() {
+        double[] array = this.array;
+        int size = this.size;
+        if (size == 0) {
+            throw new NoSuchElementException("Список пуст");
+        }
+        double max = array[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Увеличивает ёмкость массива вдвое, но не больше наибольшего размера массива.
+     */
+    private void increaseCapacity() {
+        if (size == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Превышен наибольший размер списка");
+        }
+        int newCapacity = (int) Math.min(Math.max(array.length * 2L, DEFAULT_CAPACITY), MAX_CAPACITY);
+        array = Arrays.copyOf(array, newCapacity);
+    }
+}
@@ -0,0 +1,319 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Карта с ограниченным временем жизни элементов поверх {@link MyOwnHashMap}.
+ * <p>
+ * Каждый элемент получает время жизни по умолчанию или собственное, переданное в
+ * {@link #put(Object, Object, long, TimeUnit)}. Отсчет ведется по выбранному правилу {@link Expiry}:
+ * от последней записи или от последнего обращения. Истекший элемент никогда не возвращается:
+ * {@link #get} проверяет срок сам. Кроме того, истекшие элементы удаляются заранее иерархическим
+ * таймерным колесом, которое продвигается каждой операцией чтения и записи и методом
+ * {@link #cleanUp()}, поэтому карта не накапливает элементы, к которым больше не обращаются.
+ * <p>
+ * Колесо состоит из уровней по {@link #BUCKETS} корзин; корзина уровня 0 охватывает около 17 мс,
+ * каждый следующий уровень в 64 раза грубее, последний - около трех суток. Элемент попадает
+ * на самый мелкий уровень, который еще вмещает оставшееся ему время. Когда время доходит
+ * до корзины, ее элементы либо удаляются как истекшие, либо переносятся на более мелкий уровень.
+ * Элемент переносится не больше одного раза на уровень, а продвижение колеса просматривает не больше
+ * {@link #BUCKETS} корзин на уровень, поэтому очистка стоит амортизированно O(1) на операцию.
+ * <p>
+ * Время берется из часов, передаваемых в конструктор; по умолчанию это {@link System#nanoTime()}.
+ * Карта не потокобезопасна. Ключи и значения {@code null} не поддерживаются.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public class MyOwnExpiringMap<K, V> implements MyOwnMap<K, V> {
+    static final int BUCKETS = 64; // Корзин на уровне колеса
+    static final int[] SHIFTS = {24, 30, 36, 42, 48}; // Длительность корзины уровня: 2^shift нс
+    private static final long MAX_TTL = 1L << 62; // Больший срок считается бесконечным
+
+    /**
+     * Правило отсчета времени жизни.
+     */
+    public enum Expiry {
+        /**
+         * Время жизни отсчитывается от последней записи значения.
+         */
+        AFTER_WRITE,
+        /**
+         * Время жизни отсчитывается от последнего обращения: записи или успешного чтения.
+         */
+        AFTER_ACCESS
+    }
+
+    /**
+     * Узел карты: хранит значение и срок и одновременно является звеном списка корзины колеса.
+     */
+    static final class Node<K, V> {
+        final K key;
+        V value;
+        long ttl; // Время жизни в наносекундах
+        long deadline; // Момент истечения по часам карты
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final MyOwnHashMap<K, Node<K, V>> data = new MyOwnHashMap<>();
+    private final long defaultTtl;
+    private final Expiry expiry;
+    private final LongSupplier clock;
+    private final Node<K, V>[][] wheel; // Корзины - кольцевые списки с узлом-заглушкой
+    private long time; // Момент, до которого колесо продвинуто
+    private long expirationCount;
+
+    /**
+     * Конструктор, создающий карту с отсчетом времени по {@link System#nanoTime()}.
+     *
+     * @param defaultTtl время жизни элемента по умолчанию
+     * @param unit       единица времени
+     * @param expiry     правило отсчета
+     * @throws IllegalArgumentException если время жизни не положительно
+     */
+    public MyOwnExpiringMap(long defaultTtl, TimeUnit unit, Expiry expiry) {
+        this(defaultTtl, unit, expiry, System::nanoTime);
+    }
+
+    /**
+     * Конструктор, создающий карту с указанными часами.
+     *
+     * @param defaultTtl время жизни элемента по умолчанию
+     * @param unit       единица времени
+     * @param expiry     правило отсчета
+     * @param clock      часы, возвращающие текущее время в наносекундах
+     * @throws IllegalArgumentException если время жизни не положительно
+     */
+    @SuppressWarnings("unchecked")
+    public MyOwnExpiringMap(long defaultTtl, TimeUnit unit, Expiry expiry, LongSupplier clock) {
+        if (unit == null || expiry == null || clock == null) {
+            throw new NullPointerException();
+        }
+        this.defaultTtl = toNanos(defaultTtl, unit);
+        this.expiry = expiry;
+        this.clock = clock;
+        this.time = clock.getAsLong();
+        this.wheel = (Node<K, V>[][]) new Node<?, ?>[SHIFTS.length][BUCKETS];
+        for (Node<K, V>[] level : wheel) {
+            for (int i = 0; i < BUCKETS; i++) {
+                Node<K, V> sentinel = new Node<>(null, null);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    private static long toNanos(long ttl, TimeUnit unit) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("Недопустимое время жизни: " + ttl);
+        }
+        return Math.min(unit.toNanos(ttl), MAX_TTL);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Истекший элемент удаляется и не возвращается. При отсчете от обращения успешное
+     * чтение продлевает срок элемента.
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public V get(K key) {
+        long now = advance();
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.deadline - now <= 0) {
+            expire(node);
+            return null;
+        }
+        if (expiry == Expiry.AFTER_ACCESS) {
+            unlink(node);
+            node.deadline = now + node.ttl;
+            schedule(node);
+        }
+        return node.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Элемент получает время жизни по умолчанию.
+     *
+     * @throws NullPointerException если ключ или значение равны {@code null}
+     */
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, defaultTtl);
+    }
+
+    /**
+     * Ассоциирует значение с ключом и задает элементу собственное время жизни.
+     * При отсчете от обращения это время простоя, после которого элемент истекает.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @param ttl   время жизни элемента
+     * @param unit  единица времени
+     * @return предыдущее неистекшее значение ключа или {@code null}
+     * @throws NullPointerException     если ключ или значение равны {@code null}
+     * @throws IllegalArgumentException если время жизни не положительно
+     */
+    public V put(K key, V value, long ttl, TimeUnit unit) {
+        return put(key, value, toNanos(ttl, unit));
+    }
+
+    private V put(K key, V value, long ttl) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        long now = advance();
+        Node<K, V> node = data.get(key);
+        V previous = null;
+        if (node == null) {
+            node = new Node<>(key, value);
+            data.put(key, node);
+        } else {
+            unlink(node);
+            if (node.deadline - now > 0) {
+                previous = node.value;
+            }
+            node.value = value;
+        }
+        node.ttl = ttl;
+        node.deadline = now + ttl;
+        schedule(node);
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public void remove(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            data.remove(key);
+            unlink(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Может учитывать истекшие элементы, которые колесо еще не успело удалить.
+     */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Продвигает таймерное колесо до текущего времени, удаляя истекшие элементы.
+     */
+    public void cleanUp() {
+        advance();
+    }
+
+    /**
+     * Возвращает количество элементов, удаленных по истечении срока.
+     *
+     * @return количество истечений
+     */
+    public long expirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * Продвигает колесо до текущего времени. На каждом уровне обрабатываются корзины,
+     * через которые прошло время, но не больше одного полного оборота.
+     *
+     * @return текущее время
+     */
+    private long advance() {
+        long now = clock.getAsLong();
+        long previous = time;
+        if (now - previous <= 0) {
+            return previous; // Часы не идут назад для колеса
+        }
+        time = now;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previous >> SHIFTS[level];
+            long delta = (now >> SHIFTS[level]) - previousTicks;
+            if (delta <= 0) {
+                break; // Более грубые уровни тем более не сдвинулись
+            }
+            int steps = (int) Math.min(delta + 1, BUCKETS);
+            for (int i = 0; i < steps; i++) {
+                processBucket(wheel[level][(int) ((previousTicks + i) & (BUCKETS - 1))], now);
+            }
+        }
+        return now;
+    }
+
+    /**
+     * Забирает элементы корзины: истекшие удаляются, остальные планируются заново. Корзина
+     * очищается до обхода, поэтому элемент, вернувшийся в нее же, повторно не просматривается.
+     */
+    private void processBucket(Node<K, V> sentinel, long now) {
+        Node<K, V> node = sentinel.next;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        while (node != sentinel) {
+            Node<K, V> next = node.next;
+            node.prev = null;
+            node.next = null;
+            if (node.deadline - now <= 0) {
+                data.remove(node.key);
+                expirationCount++;
+            } else {
+                schedule(node);
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Помещает узел в корзину самого мелкого уровня, вмещающего оставшееся ему время.
+     */
+    private void schedule(Node<K, V> node) {
+        long deadline = node.deadline - time > 0 ? node.deadline : time;
+        long remaining = deadline - time;
+        int level = 0;
+        while (level < SHIFTS.length - 1 && remaining >= 1L << SHIFTS[level + 1]) {
+            level++;
+        }
+        Node<K, V> sentinel = wheel[level][(int) ((deadline >> SHIFTS[level]) & (BUCKETS - 1))];
+        node.next = sentinel;
+        node.prev = sentinel.prev;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    /**
+     * Исключает узел из его корзины.
+     */
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        data.remove(node.key);
+        unlink(node);
+        expirationCount++;
+    }
+}
@@ -0,0 +1,269 @@
+package org.example;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Неизменяемая карта, построенная из {@link MyOwnHashMap} методом {@link MyOwnHashMap#freeze()}.
+ * <p>
+ * Ключи размещаются минимальной совершенной хэш-функцией по схеме "хэшируй и смещай" (CHD/PTHash):
+ * ключи раскладываются по корзинам в среднем по {@link #BUCKET_SIZE}, и для каждой корзины
+ * подбирается зерно, при котором все ее ключи попадают в свободные позиции. Корзины
+ * обрабатываются от больших к меньшим. В результате {@code n} ключей занимают ровно
+ * {@code n} позиций плоских массивов ключей, значений и хэшей без пустых ячеек и цепочек, а на
+ * каждые {@link #BUCKET_SIZE} ключей хранится одно зерно. Поиск вычисляет корзину, читает
+ * ее зерно и проверяет одну позицию.
+ * <p>
+ * Ключи с одинаковым хэшем стратегии различить хэш-функцией нельзя: все, кроме первого, хранятся
+ * в небольшой дополнительной карте, которая просматривается только при промахе основной.
+ * <p>
+ * Все поля карты неизменяемы и задаются в конструкторе, поэтому ее можно читать из любых потоков
+ * без блокировок. Методы {@link #put} и {@link #remove} не поддерживаются.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public final class MyOwnFrozenMap<K, V> implements MyOwnMap<K, V> {
+    static final int BUCKET_SIZE = 4; // Среднее количество ключей в корзине хэш-функции
+
+    private final MyOwnHashStrategy<? super K> strategy;
+    private final Object[] keys;
+    private final Object[] values;
+    private final int[] hashes; // Хэши ключей для быстрого отказа без equals
+    private final int[] seeds; // Зерно каждой корзины
+    private final MyOwnHashMap<K, V> overflow; // Ключи с повторяющимися хэшами или null
+    private final int size;
+
+    /**
+     * Строит карту по парам из массивов. Ключи должны быть различны по стратегии.
+     *
+     * @param keys     ключи
+     * @param values   значения на тех же позициях
+     * @param count    количество пар
+     * @param strategy стратегия хэширования и сравнения ключей
+     */
+    @SuppressWarnings("unchecked")
+    MyOwnFrozenMap(Object[] keys, Object[] values, int count, MyOwnHashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+        this.size = count;
+
+        // Ключи с уже встречавшимся хэшем уходят в дополнительную карту
+        int[] allHashes = new int[count];
+        int[] primary = new int[count];
+        int n = 0;
+        MyOwnIntIntMap firstWithHash = new MyOwnIntIntMap(count);
+        for (int i = 0; i < count; i++) {
+            int h = strategy.hash((K) keys[i]);
+            allHashes[i] = h;
+            if (!firstWithHash.containsKey(h)) {
+                firstWithHash.put(h, i);
+                primary[n++] = i;
+            }
+        }
+        if (n < count) {
+            // Таблица берется с запасом, чтобы карта не росла и не оставила незавершенного переноса:
+            // чтение из нескольких потоков не должно ничего изменять
+            int extraCount = count - n;
+            MyOwnHashMap<K, V> extra = new MyOwnHashMap<>(Math.max(MyOwnHashMap.MIN_TREEIFY_CAPACITY,
+                    (int) Math.min(extraCount / (double) MyOwnHashMap.DEFAULT_LOAD_FACTOR + 1,
+                            MyOwnHashMap.MAXIMUM_CAPACITY)), MyOwnHashMap.DEFAULT_LOAD_FACTOR, strategy);
+            for (int i = 0, j = 0; i < count; i++) {
+                if (j < n && primary[j] == i) {
+                    j++;
+                } else {
+                    extra.put((K) keys[i], (V) values[i]);
+                }
+            }
+            this.overflow = extra;
+        } else {
+            this.overflow = null;
+        }
+
+        int bucketCount = Math.max(1, (n + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        this.seeds = new int[bucketCount];
+        this.keys = new Object[n];
+        this.values = new Object[n];
+        this.hashes = new int[n];
+        if (n == 0) {
+            return;
+        }
+
+        // Раскладка ключей по корзинам сортировкой подсчетом
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int j = 0; j < n; j++) {
+            bucketStart[bucketOf(allHashes[primary[j]], bucketCount) + 1]++;
+        }
+        int largest = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            largest = Math.max(largest, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] members = new int[n];
+        int[] fill = bucketStart.clone();
+        for (int j = 0; j < n; j++) {
+            int i = primary[j];
+            members[fill[bucketOf(allHashes[i], bucketCount)]++] = i;
+        }
+
+        // Порядок корзин по убыванию размера
+        int[] sizeStart = new int[largest + 2];
+        for (int b = 0; b < bucketCount; b++) {
+            sizeStart[largest - (bucketStart[b + 1] - bucketStart[b]) + 1]++;
+        }
+        for (int s = 1; s < sizeStart.length; s++) {
+            sizeStart[s] += sizeStart[s - 1];
+        }
+        int[] order = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[sizeStart[largest - (bucketStart[b + 1] - bucketStart[b])]++] = b;
+        }
+
+        long[] taken = new long[(n + 63) >>> 6];
+        int[] slots = new int[largest];
+        for (int b : order) {
+            int from = bucketStart[b];
+            int length = bucketStart[b + 1] - from;
+            if (length == 0) {
+                break; // Дальше только пустые корзины
+            }
+            int seed = 0;
+            while (!tryPlace(allHashes, members, from, length, seed, n, taken, slots)) {
+                seed++;
+            }
+            seeds[b] = seed;
+            for (int k = 0; k < length; k++) {
+                int i = members[from + k];
+                int slot = slots[k];
+                this.keys[slot] = keys[i];
+                this.values[slot] = values[i];
+                this.hashes[slot] = allHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Пробует разместить ключи корзины с указанным зерном. При успехе позиции занимаются
+     * и записываются в {@code slots}; при неудаче таблица занятости не меняется.
+     */
+    private static boolean tryPlace(int[] hashes, int[] members, int from, int length, int seed, int n,
+                                    long[] taken, int[] slots) {
+        for (int k = 0; k < length; k++) {
+            int slot = slotOf(hashes[members[from + k]], seed, n);
+            if ((taken[slot >>> 6] & (1L << slot)) != 0) {
+                for (int j = 0; j < k; j++) {
+                    taken[slots[j] >>> 6] &= ~(1L << slots[j]); // Откат занятых позиций
+                }
+                return false;
+            }
+            taken[slot >>> 6] |= 1L << slot;
+            slots[k] = slot;
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает корзину хэш-функции для хэша ключа.
+     */
+    static int bucketOf(int hash, int bucketCount) {
+        return (int) (((MyOwnHashStrategy.fmix32(hash ^ 0x5bd1e995) & 0xFFFFFFFFL) * bucketCount) >>> 32);
+    }
+
+    /**
+     * Возвращает позицию ключа для зерна его корзины.
+     */
+    static int slotOf(int hash, int seed, int n) {
+        long z = (hash & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L + seed * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z ^= z >>> 33;
+        return (int) (((z >>> 32) * n) >>> 32);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Проверяет ровно одну позицию основной таблицы.
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int n = keys.length;
+        if (n != 0) {
+            int h = strategy.hash(key);
+            int slot = slotOf(h, seeds[bucketOf(h, seeds.length)], n);
+            if (hashes[slot] == h && strategy.equals((K) keys[slot], key)) {
+                return (V) values[slot];
+            }
+        }
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    /**
+     * Возвращает значение ключа или значение по умолчанию, если ключ отсутствует.
+     *
+     * @param key          ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение ключа или значение по умолчанию
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int n = keys.length;
+        if (n != 0) {
+            int h = strategy.hash(key);
+            int slot = slotOf(h, seeds[bucketOf(h, seeds.length)], n);
+            if (hashes[slot] == h && strategy.equals((K) keys[slot], key)) {
+                return (V) values[slot];
+            }
+        }
+        return overflow == null ? defaultValue : overflow.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Не поддерживается: карта неизменяема.
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("Карта неизменяема");
+    }
+
+    /**
+     * Не поддерживается: карта неизменяема.
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public void remove(K key) {
+        throw new UnsupportedOperationException("Карта неизменяема");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Выполняет действие для каждой пары "ключ-значение" карты.
+     *
+     * @param action действие
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept((K) keys[i], (V) values[i]);
+        }
+        if (overflow != null) {
+            overflow.forEach(action);
+        }
+    }
+}
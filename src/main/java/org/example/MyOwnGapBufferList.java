@@ -0,0 +1,363 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Список на основе буфера с разрывом с тем же API, что и {@link MyOwnArrayList}.
+ * <p>
+ * Элементы лежат в одном массиве, в котором есть непрерывный пустой участок - разрыв.
+ * Элементы с индексами до {@code gapStart} находятся в начале массива, остальные - в его конце.
+ * Вставка и удаление выполняются на границе разрыва: разрыв сначала перемещается к индексу
+ * операции, для чего копируются только элементы между старым и новым положением, а затем
+ * вставка занимает одну его ячейку, а удаление освобождает одну. Поэтому серия правок рядом
+ * с одним местом ("курсором") стоит O(1) на правку, а правка на расстоянии d от прошлой - O(d).
+ * {@link #get(int)} и {@link #set(int, Object)} остаются O(1): индекс за разрывом лишь сдвигается
+ * на длину разрыва.
+ * <p>
+ * Сортировки и {@link #removeIf(Predicate)} сначала переносят разрыв в конец, после чего
+ * работают над непрерывным началом массива.
+ *
+ * @param <T> тип элементов в списке
+ */
+public class MyOwnGapBufferList<T> {
+    private static final int DEFAULT_CAPACITY = 10; // Начальная емкость списка по умолчанию
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // Наибольший размер массива в JVM
+
+    private Object[] array; // Элементы и разрыв
+    private int gapStart; // Начало разрыва включительно
+    private int gapEnd; // Конец разрыва не включительно
+
+    /**
+     * Создает новый пустой список с емкостью по умолчанию.
+     */
+    public MyOwnGapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает новый пустой список, вмещающий указанное число элементов без роста.
+     *
+     * @param initialCapacity начальная емкость
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnGapBufferList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + initialCapacity);
+        }
+        this.array = new Object[initialCapacity];
+        this.gapEnd = initialCapacity;
+    }
+
+    /**
+     * Добавляет элемент в конец списка.
+     *
+     * @param element элемент, который нужно добавить в список
+     */
+    public void add(T element) {
+        add(size(), element);
+    }
+
+    /**
+     * Добавляет элемент по указанному индексу в список.
+     *
+     * @param index   индекс, по которому нужно добавить элемент
+     * @param element элемент, который нужно добавить в список
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void add(int index, T element) {
+        int size = size();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        if (gapStart == gapEnd) {
+            increaseCapacity(size + 1L);
+        }
+        moveGap(index);
+        array[gapStart++] = element;
+    }
+
+    /**
+     * Возвращает элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно получить
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) array[index < gapStart ? index : index + gapEnd - gapStart];
+    }
+
+    /**
+     * Заменяет элемент в списке по указанному индексу новым элементом.
+     *
+     * @param index   индекс элемента, который нужно заменить
+     * @param element новый элемент для замены
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void set(int index, T element) {
+        checkIndex(index);
+        array[index < gapStart ? index : index + gapEnd - gapStart] = element;
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу. Элемент сразу перед разрывом или сразу после него
+     * удаляется без копирования.
+     *
+     * @param index индекс элемента, который нужно удалить
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        if (index < gapStart) {
+            moveGap(index + 1);
+            array[--gapStart] = null;
+        } else {
+            moveGap(index);
+            array[gapEnd++] = null;
+        }
+    }
+
+    /**
+     * Очищает список, удаляя все элементы.
+     */
+    public void clear() {
+        Arrays.fill(array, 0, gapStart, null);
+        Arrays.fill(array, gapEnd, array.length, null);
+        gapStart = 0;
+        gapEnd = array.length;
+    }
+
+    /**
+     * Преобразует массив элементов в массив и возвращает его.
+     *
+     * @return массив элементов
+     */
+    @SuppressWarnings("unchecked")
+    public T[] toArray() {
+        Object[] result = new Object[size()];
+        System.arraycopy(array, 0, result, 0, gapStart);
+        System.arraycopy(array, gapEnd, result, gapStart, array.length - gapEnd);
+        return (T[]) result;
+    }
+
+    /**
+     * Возвращает текущее количество элементов в списке.
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return array.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Проверяет, пуст ли список.
+     *
+     * @return true, если список пуст, иначе false
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Сортирует элементы в списке в порядке возрастания с использованием переданного компаратора.
+     * Сортировка устойчива и выполняется на месте методом {@link Arrays#sort(Object[], int, int, Comparator)}.
+     *
+     * @param comparator компаратор для сортировки элементов
+     * @throws IllegalArgumentException если обнаружено, что компаратор нарушает свой контракт
+     */
+    @SuppressWarnings("unchecked")
+    public void sortWithComparator(Comparator<? super T> comparator) {
+        moveGap(size());
+        Arrays.sort((T[]) array, 0, gapStart, comparator);
+    }
+
+    /**
+     * Быстрая сортировка элементов в списке с использованием переданного компаратора
+     * алгоритмом {@link MyOwnIntroSort}. Сортировка неустойчива.
+     *
+     * @param comparator компаратор для сортировки элементов
+     */
+    public void quickSort(Comparator<T> comparator) {
+        moveGap(size());
+        MyOwnIntroSort.sort(array, 0, gapStart, comparator);
+    }
+
+    /**
+     * Параллельная сортировка элементов в списке с использованием переданного компаратора,
+     * как {@link MyOwnArrayList#parallelSort(Comparator)}. Сортировка неустойчива.
+     *
+     * @param comparator компаратор для сортировки элементов
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        moveGap(size());
+        MyOwnParallelSort.sort(array, gapStart, comparator);
+    }
+
+    /**
+     * Добавляет все элементы коллекции в конец списка в порядке ее итератора.
+     *
+     * @param collection коллекция добавляемых элементов
+     * @return true, если список изменился
+     * @throws NullPointerException если коллекция равна {@code null}
+     */
+    public boolean addAll(Collection<? extends T> collection) {
+        return addAll(size(), collection);
+    }
+
+    /**
+     * Вставляет все элементы коллекции начиная с указанного индекса. Разрыв перемещается один раз,
+     * после чего элементы копируются в него одним копированием.
+     *
+     * @param index      индекс, по которому нужно вставить первый элемент коллекции
+     * @param collection коллекция добавляемых элементов
+     * @return true, если список изменился
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     * @throws NullPointerException      если коллекция равна {@code null}
+     */
+    public boolean addAll(int index, Collection<? extends T> collection) {
+        int size = size();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        Object[] added = collection.toArray();
+        int count = added.length;
+        if (count == 0) {
+            return false;
+        }
+        if (count > gapEnd - gapStart) {
+            increaseCapacity(size + (long) count);
+        }
+        moveGap(index);
+        System.arraycopy(added, 0, array, gapStart, count);
+        gapStart += count;
+        return true;
+    }
+
+    /**
+     * Удаляет элементы с индексами от {@code fromIndex} включительно до {@code toIndex}
+     * не включительно, присоединяя их к разрыву.
+     *
+     * @param fromIndex индекс первого удаляемого элемента
+     * @param toIndex   индекс после последнего удаляемого элемента
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы списка или
+     *                                   {@code fromIndex > toIndex}
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        int size = size();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Диапазон: [" + fromIndex + ", " + toIndex + "), Размер: " + size);
+        }
+        moveGap(fromIndex);
+        int newGapEnd = gapEnd + (toIndex - fromIndex);
+        Arrays.fill(array, gapEnd, newGapEnd, null);
+        gapEnd = newGapEnd;
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, за один проход. Если условие выбрасывает
+     * исключение, уже удаленные элементы остаются удаленными, а непросмотренные сохраняются.
+     *
+     * @param filter условие удаления
+     * @return true, если был удален хотя бы один элемент
+     * @throws NullPointerException если условие равно {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new NullPointerException();
+        }
+        moveGap(size());
+        Object[] array = this.array;
+        int size = gapStart;
+        int read = 0;
+        int write = 0;
+        try {
+            for (; read < size; read++) {
+                Object element = array[read];
+                if (!filter.test((T) element)) {
+                    array[write++] = element;
+                }
+            }
+        } finally {
+            if (read < size) {
+                System.arraycopy(array, read, array, write, size - read);
+                write += size - read;
+            }
+            Arrays.fill(array, write, size, null);
+            gapStart = write;
+        }
+        return write != size;
+    }
+
+    /**
+     * Увеличивает емкость так, чтобы список вмещал указанное число элементов без роста.
+     *
+     * @param minCapacity требуемая емкость
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            increaseCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает емкость до текущего размера списка, убирая разрыв.
+     */
+    public void trimToSize() {
+        if (gapStart < gapEnd) {
+            array = toArray();
+            gapEnd = gapStart;
+        }
+    }
+
+    /**
+     * Перемещает разрыв так, чтобы он начинался с указанного индекса. Копируются только элементы
+     * между старым и новым положением разрыва, а освободившиеся ячейки очищаются.
+     */
+    private void moveGap(int index) {
+        Object[] array = this.array;
+        if (index < gapStart) {
+            int count = gapStart - index;
+            int newGapEnd = gapEnd - count;
+            System.arraycopy(array, index, array, newGapEnd, count);
+            Arrays.fill(array, index, Math.min(gapStart, newGapEnd), null);
+            gapStart = index;
+            gapEnd = newGapEnd;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            int newGapEnd = gapEnd + count;
+            System.arraycopy(array, gapEnd, array, gapStart, count);
+            Arrays.fill(array, Math.max(gapEnd, index), newGapEnd, null);
+            gapStart = index;
+            gapEnd = newGapEnd;
+        }
+    }
+
+    /**
+     * Увеличивает ёмкость массива вдвое или до требуемой, если она больше. Разрыв расширяется
+     * на месте: элементы после него переносятся в конец нового массива.
+     */
+    private void increaseCapacity(long minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Превышен наибольший размер списка");
+        }
+        long newCapacity = Math.max(Math.max(array.length * 2L, minCapacity), DEFAULT_CAPACITY);
+        Object[] newArray = new Object[(int) Math.min(newCapacity, MAX_CAPACITY)];
+        int tail = array.length - gapEnd;
+        System.arraycopy(array, 0, newArray, 0, gapStart);
+        System.arraycopy(array, gapEnd, newArray, newArray.length - tail, tail);
+        array = newArray;
+        gapEnd = newArray.length - tail;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size());
+        }
+    }
+}
@@ -1,51 +1,275 @@
 package org.example;
 
-import java.util.LinkedList;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Простая реализация хэш-таблицы с использованием отдельной цепочки через связанные списки.
+ * <p>
+ * Размер таблицы всегда является степенью двойки, индекс корзины вычисляется маской.
+ * Хэширование и сравнение ключей задаются стратегией {@link MyOwnHashStrategy}; по умолчанию
+ * используются {@link Object#hashCode()} со сверткой старших битов и {@link Object#equals}.
+ * Когда количество элементов превышает {@code capacity * loadFactor}, таблица удваивается.
+ * Перенос элементов в новую таблицу выполняется постепенно: каждая последующая операция
+ * изменения переносит несколько корзин, поэтому ни один {@code put} не копирует таблицу целиком.
+ * <p>
+ * Корзина, цепочка в которой стала длиннее {@link #TREEIFY_THRESHOLD}, превращается в
+ * сбалансированное дерево, упорядоченное по хэшу, а при равных хэшах по {@link Comparable},
+ * если ключи его реализуют. Это ограничивает поиск в такой корзине логарифмическим временем
+ * даже для ключей с одинаковыми хэш-кодами. Порядок {@link Comparable} используется, только если
+ * стратегия сравнивает ключи через {@link Object#equals}. Когда корзина уменьшается до
+ * {@link #UNTREEIFY_THRESHOLD} элементов, она снова становится цепочкой.
+ * <p>
+ * Пакетные операции {@link #putAll(Object[], Object[])}, {@link #getAll(Object[], Object[])} и
+ * {@link #removeAll(Object[])} сначала вычисляют хэши всех ключей, а затем обрабатывают ключи
+ * в порядке корзин, так что обращения к таблице идут почти последовательно.
+ * <p>
+ * Обход выполняется через {@link #forEach(BiConsumer)}, представления {@link #keySet()},
+ * {@link #values()}, {@link #entrySet()} и поток {@link #stream()}. Их {@link Spliterator}
+ * делит массив корзин по диапазонам, поэтому параллельный поток обходит таблицу всеми ядрами.
+ * Элементы карты сами реализуют {@link Map.Entry}, так что обход не создает объектов на элемент.
+ * Перед обходом незавершенный перенос доводится до конца. Изменение структуры карты во время
+ * обхода приводит к {@link ConcurrentModificationException}.
+ * <p>
+ * Сбор статистики включается методом {@link #setStatsEnabled(boolean)}: карта начинает считать
+ * попадания и промахи {@code get}, количество и время ростов таблицы и записывать событие JFR
+ * {@link MyOwnHashMapResizeEvent} при каждом росте. Выключенный сбор стоит одной проверки поля
+ * на {@code null}. Снимок {@link #stats()} с распределением длин цепочек доступен всегда.
  *
  * @param <K> тип ключей, поддерживаемых этой картой
  * @param <V> тип значений, отображаемых этой картой
  */
-public class MyOwnHashMap<K, V> {
-    private static class Entry<K, V> {
-        K key;
+public class MyOwnHashMap<K, V> implements MyOwnMap<K, V> {
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        final int hash;
+        final K key;
         V value;
+        Entry<K, V> next;
 
-        Entry(K key, V value) {
+        Entry(int hash, K key, V value, Entry<K, V> next) {
+            this.hash = hash;
             this.key = key;
             this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return key.equals(e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
         }
     }
 
-    private final LinkedList<Entry<K, V>>[] table;
-    private final int capacity;
+    static final int DEFAULT_CAPACITY = 16; // Емкость по умолчанию
+    static final float DEFAULT_LOAD_FACTOR = 0.75f; // Коэффициент загрузки по умолчанию
+    static final int MAXIMUM_CAPACITY = 1 << 30; // Максимальный размер таблицы
+    private static final int REHASH_STEP = 4; // Сколько корзин переносит одна операция изменения
+    private static final int REHASH_MAX_VISITS = REHASH_STEP * 16; // Ограничение просмотра уже перенесенных корзин
+    private static final int MIN_BATCH_ORDERING = 32; // Меньшие пакеты обрабатываются в исходном порядке
+
+    // Режимы общей реализации update; порядок важен для сравнений в ней
+    private static final int PUT = 0;
+    private static final int PUT_IF_ABSENT = 1;
+    private static final int COMPUTE_IF_ABSENT = 2;
+    private static final int COMPUTE_IF_PRESENT = 3;
+    private static final int COMPUTE = 4;
+    private static final int MERGE = 5;
+    static final int TREEIFY_THRESHOLD = 8; // Длина цепочки, при которой корзина превращается в дерево
+    static final int UNTREEIFY_THRESHOLD = 6; // Размер дерева, при котором корзина снова становится цепочкой
+    static final int MIN_TREEIFY_CAPACITY = 64; // В меньших таблицах длинные цепочки лечатся ростом таблицы
+
+    /**
+     * Маркер корзины старой таблицы, содержимое которой уже перенесено в новую таблицу.
+     */
+    private static final Entry<?, ?> FORWARDED = new Entry<>(0, null, null, null);
+
+    private Entry<K, V>[] table;
+    private Entry<K, V>[] oldTable; // Таблица, из которой идет перенос, или null
+    private int transferIndex; // Следующая корзина старой таблицы для переноса
+    private final float loadFactor;
+    private final MyOwnHashStrategy<? super K> strategy;
+    private int threshold;
     private int size;
+    private int modCount; // Счетчик структурных изменений для обнаружения изменения во время обхода
+    private Metrics metrics; // Счетчики статистики или null, если сбор выключен
+
+    /**
+     * Счетчики, которые ведутся в режиме сбора статистики.
+     */
+    private static final class Metrics {
+        long hits;
+        long misses;
+        long resizes;
+        long resizeNanos;
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с емкостью и коэффициентом загрузки по умолчанию.
+     */
+    public MyOwnHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
 
     /**
      * Конструктор, создающий пустую хэш-карту с указанной начальной емкостью.
      *
      * @param capacity начальная емкость хэш-карты
+     * @throws IllegalArgumentException если емкость отрицательна
      */
     public MyOwnHashMap(int capacity) {
-        this.capacity = capacity;
-        this.table = new LinkedList[capacity];
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с указанной начальной емкостью и коэффициентом загрузки.
+     *
+     * @param capacity   начальная емкость хэш-карты, округляется вверх до степени двойки
+     * @param loadFactor доля заполнения, при превышении которой таблица удваивается
+     * @throws IllegalArgumentException если емкость отрицательна или коэффициент загрузки не положителен
+     */
+    public MyOwnHashMap(int capacity, float loadFactor) {
+        this(capacity, loadFactor, MyOwnHashStrategy.natural());
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с емкостью по умолчанию и указанной стратегией хэширования.
+     *
+     * @param strategy стратегия хэширования и сравнения ключей
+     */
+    public MyOwnHashMap(MyOwnHashStrategy<? super K> strategy) {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, strategy);
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с указанными емкостью, коэффициентом загрузки
+     * и стратегией хэширования.
+     *
+     * @param capacity   начальная емкость хэш-карты, округляется вверх до степени двойки
+     * @param loadFactor доля заполнения, при превышении которой таблица удваивается
+     * @param strategy   стратегия хэширования и сравнения ключей
+     * @throws IllegalArgumentException если емкость отрицательна или коэффициент загрузки не положителен
+     */
+    @SuppressWarnings("unchecked")
+    public MyOwnHashMap(int capacity, float loadFactor, MyOwnHashStrategy<? super K> strategy) {
+        if (strategy == null) {
+            throw new NullPointerException();
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("Недопустимый коэффициент загрузки: " + loadFactor);
+        }
+        int tableSize = tableSizeFor(capacity);
+        this.loadFactor = loadFactor;
+        this.strategy = strategy;
+        this.table = (Entry<K, V>[]) new Entry<?, ?>[tableSize];
+        this.threshold = thresholdFor(tableSize);
         this.size = 0;
+    }
+
+    /**
+     * Возвращает наименьшую степень двойки, не меньшую указанной емкости.
+     *
+     * @param capacity требуемая емкость
+     * @return размер таблицы
+     */
+    static int tableSizeFor(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
 
-        for (int i = 0; i < capacity; i++) {
-            table[i] = new LinkedList<>();
+    /**
+     * Вычисляет порог роста для таблицы указанного размера.
+     */
+    private int thresholdFor(int tableSize) {
+        if (tableSize >= MAXIMUM_CAPACITY) {
+            return Integer.MAX_VALUE;
         }
+        return (int) Math.min(tableSize * (double) loadFactor, Integer.MAX_VALUE);
     }
 
     /**
-     * Вычисляет хэш для данного ключа.
+     * Вычисляет хэш для данного ключа по стратегии карты.
      *
      * @param key ключ, для которого нужно вычислить хэш
-     * @return индекс хэша для ключа
+     * @return хэш ключа
+     * @throws NullPointerException если ключ равен {@code null}
      */
     private int hash(K key) {
-        return Math.abs(key.hashCode()) % capacity;
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return strategy.hash(key);
+    }
+
+    /**
+     * Ищет элемент с ключом произвольного типа, как требуют методы {@code contains} представлений.
+     *
+     * @return найденный элемент или {@code null}, если ключ отсутствует или несовместим со стратегией
+     */
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> findForeign(Object key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return findEntry(hash((K) key), (K) key);
+        } catch (ClassCastException e) {
+            return null;
+        }
     }
 
     /**
@@ -54,20 +278,214 @@ public class MyOwnHashMap<K, V> {
      *
      * @param key   ключ, с которым требуется ассоциировать указанное значение
      * @param value значение, которое следует ассоциировать с указанным ключом
+     * @return предыдущее значение ключа или {@code null}, если отображения не было
+     */
+    @Override
+    public V put(K key, V value) {
+        return update(hash(key), key, value, null, PUT);
+    }
+
+    /**
+     * Ассоциирует значение с ключом, если ключ отсутствует или отображен в {@code null}.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return текущее значение ключа или {@code null}, если значение было добавлено
+     */
+    public V putIfAbsent(K key, V value) {
+        return update(hash(key), key, value, null, PUT_IF_ABSENT);
+    }
+
+    /**
+     * Если ключ отсутствует или отображен в {@code null}, вычисляет значение функцией и добавляет его,
+     * если оно не {@code null}. Корзина ключа просматривается один раз.
+     *
+     * @param key             ключ
+     * @param mappingFunction функция, вычисляющая значение по ключу
+     * @return текущее или вычисленное значение, либо {@code null}
+     * @throws ConcurrentModificationException если функция изменила структуру карты
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (mappingFunction == null) {
+            throw new NullPointerException();
+        }
+        return update(hash(key), key, null, mappingFunction, COMPUTE_IF_ABSENT);
+    }
+
+    /**
+     * Если ключ отображен в значение, отличное от {@code null}, заменяет его результатом функции;
+     * результат {@code null} удаляет отображение.
+     *
+     * @param key               ключ
+     * @param remappingFunction функция от ключа и текущего значения
+     * @return новое значение или {@code null}
+     * @throws ConcurrentModificationException если функция изменила структуру карты
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        return update(hash(key), key, null, remappingFunction, COMPUTE_IF_PRESENT);
+    }
+
+    /**
+     * Заменяет значение ключа результатом функции от ключа и текущего значения ({@code null},
+     * если ключ отсутствует); результат {@code null} удаляет отображение.
+     *
+     * @param key               ключ
+     * @param remappingFunction функция от ключа и текущего значения
+     * @return новое значение или {@code null}
+     * @throws ConcurrentModificationException если функция изменила структуру карты
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        return update(hash(key), key, null, remappingFunction, COMPUTE);
+    }
+
+    /**
+     * Если ключ отсутствует или отображен в {@code null}, ассоциирует его с указанным значением,
+     * иначе заменяет значение результатом функции от старого и указанного значений;
+     * результат {@code null} удаляет отображение. Удобно для счетчиков и группировки.
+     *
+     * @param key               ключ
+     * @param value             значение, не {@code null}
+     * @param remappingFunction функция от старого и указанного значений
+     * @return новое значение или {@code null}
+     * @throws NullPointerException            если значение или функция равны {@code null}
+     * @throws ConcurrentModificationException если функция изменила структуру карты
      */
-    public void put(K key, V value) {
-        int index = hash(key);
-        LinkedList<Entry<K, V>> bucket = table[index];
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null || remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        return update(hash(key), key, value, remappingFunction, MERGE);
+    }
+
+    /**
+     * Общая реализация {@code put} и вычисляющих операций: находит ключ одним просмотром корзины,
+     * вычисляет новое значение и применяет его к найденному элементу либо к найденному месту вставки.
+     *
+     * @param function функция, тип которой определяется режимом
+     * @param mode     один из режимов {@link #PUT} ... {@link #MERGE}
+     * @return для {@code PUT} и {@code PUT_IF_ABSENT} - прежнее значение, иначе - новое
+     */
+    @SuppressWarnings("unchecked")
+    private V update(int hash, K key, V value, Object function, int mode) {
+        Entry<K, V>[] tab = writableTable(hash);
+        int index = hash & (tab.length - 1);
+
+        Entry<K, V> first = tab[index];
+        TreeBin<K, V> bin = null;
+        Entry<K, V> found = null;
+        Entry<K, V> prev = null; // Элемент перед найденным или последний элемент цепочки
+        int binCount = 0;
+        if (first instanceof TreeBin) {
+            bin = (TreeBin<K, V>) first;
+            found = bin.find(hash, key);
+        } else {
+            for (Entry<K, V> entry = first; entry != null; entry = entry.next) {
+                if (entry.hash == hash && strategy.equals(entry.key, key)) {
+                    found = entry;
+                    break;
+                }
+                prev = entry;
+                binCount++;
+            }
+        }
+
+        V old = found == null ? null : found.value;
+        V newValue;
+        int expectedModCount = modCount;
+        switch (mode) {
+            case PUT:
+                newValue = value;
+                break;
+            case PUT_IF_ABSENT:
+                if (old != null) {
+                    return old;
+                }
+                newValue = value;
+                break;
+            case COMPUTE_IF_ABSENT:
+                if (old != null) {
+                    return old;
+                }
+                newValue = ((Function<? super K, ? extends V>) function).apply(key);
+                break;
+            case COMPUTE_IF_PRESENT:
+                if (old == null) {
+                    return null;
+                }
+                newValue = ((BiFunction<? super K, ? super V, ? extends V>) function).apply(key, old);
+                break;
+            case COMPUTE:
+                newValue = ((BiFunction<? super K, ? super V, ? extends V>) function).apply(key, old);
+                break;
+            default: // MERGE
+                newValue = old == null ? value
+                        : ((BiFunction<? super V, ? super V, ? extends V>) function).apply(old, value);
+                break;
+        }
+        if (modCount != expectedModCount) {
+            // Функция изменила структуру карты: найденное место могло устареть
+            throw new ConcurrentModificationException();
+        }
+        V result = mode <= PUT_IF_ABSENT ? old : newValue;
+
+        if (found != null) {
+            if (newValue == null && mode >= COMPUTE_IF_PRESENT) {
+                unlinkFound(tab, index, bin, prev, found);
+            } else {
+                found.value = newValue;
+            }
+            return result;
+        }
+        if (newValue == null && mode >= COMPUTE_IF_ABSENT) {
+            return result; // Вычислено null для отсутствующего ключа: ничего не добавляется
+        }
 
-        for (Entry<K, V> entry : bucket) {
-            if (entry.key.equals(key)) {
-                entry.value = value;
-                return;
+        if (bin != null) {
+            bin.insert(hash, key, newValue);
+        } else {
+            Entry<K, V> created = new Entry<>(hash, key, newValue, null);
+            if (prev == null) {
+                tab[index] = created;
+            } else {
+                prev.next = created;
             }
         }
+        modCount++;
+        if (++size > threshold) {
+            resize();
+        }
+        if (bin == null && binCount + 1 > TREEIFY_THRESHOLD) {
+            treeifyBin(tab, index);
+        }
+        return result;
+    }
 
-        bucket.add(new Entry<>(key, value));
-        size++;
+    /**
+     * Удаляет найденный элемент из его корзины.
+     *
+     * @param bin  корзина-дерево или {@code null} для цепочки
+     * @param prev предыдущий элемент цепочки или {@code null}, если элемент первый
+     */
+    private void unlinkFound(Entry<K, V>[] tab, int index, TreeBin<K, V> bin, Entry<K, V> prev,
+                             Entry<K, V> found) {
+        if (bin != null) {
+            bin.delete((TreeNode<K, V>) found);
+            if (bin.count <= UNTREEIFY_THRESHOLD) {
+                tab[index] = untreeify(bin.first);
+            }
+        } else if (prev == null) {
+            tab[index] = found.next;
+        } else {
+            prev.next = found.next;
+        }
+        size--;
+        modCount++;
     }
 
     /**
@@ -77,17 +495,57 @@ public class MyOwnHashMap<K, V> {
      * @param key ключ, значение которого нужно вернуть
      * @return значение, к которому данный ключ отображается, или null, если отображение отсутствует
      */
+    @Override
     public V get(K key) {
-        int index = hash(key);
-        LinkedList<Entry<K, V>> bucket = table[index];
+        Entry<K, V> entry = findEntry(hash(key), key);
+        Metrics m = metrics;
+        if (m != null) {
+            if (entry == null) {
+                m.misses++;
+            } else {
+                m.hits++;
+            }
+        }
+        return entry == null ? null : entry.value; // null, если ключ не найден
+    }
 
-        for (Entry<K, V> entry : bucket) {
-            if (entry.key.equals(key)) {
-                return entry.value;
+    /**
+     * Возвращает значение ключа или значение по умолчанию, если ключ отсутствует.
+     *
+     * @param key          ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение ключа (в том числе {@code null}) или значение по умолчанию
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        Entry<K, V> entry = findEntry(hash(key), key);
+        Metrics m = metrics;
+        if (m != null) {
+            if (entry == null) {
+                m.misses++;
+            } else {
+                m.hits++;
             }
         }
+        return entry == null ? defaultValue : entry.value;
+    }
+
+    /**
+     * Ищет элемент с указанным ключом, не изменяя таблицу.
+     *
+     * @return найденный элемент или {@code null}
+     */
+    private Entry<K, V> findEntry(int hash, K key) {
+        Entry<K, V> entry = bucketFor(hash);
+        if (entry instanceof TreeBin) {
+            return ((TreeBin<K, V>) entry).find(hash, key);
+        }
 
-        return null; // Если ключ не найден
+        for (; entry != null; entry = entry.next) {
+            if (entry.hash == hash && strategy.equals(entry.key, key)) {
+                return entry;
+            }
+        }
+        return null;
     }
 
     /**
@@ -95,15 +553,571 @@ public class MyOwnHashMap<K, V> {
      *
      * @param key ключ, отображение которого нужно удалить из карты
      */
+    @Override
     public void remove(K key) {
-        int index = hash(key);
-        LinkedList<Entry<K, V>> bucket = table[index];
+        removeVal(hash(key), key);
+    }
+
+    /**
+     * Удаляет элемент с указанным ключом.
+     *
+     * @return {@code true}, если элемент был удален
+     */
+    private boolean removeVal(int hash, K key) {
+        Entry<K, V>[] tab = writableTable(hash);
+        int index = hash & (tab.length - 1);
+
+        Entry<K, V> first = tab[index];
+        if (first instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) first;
+            TreeNode<K, V> node = bin.find(hash, key);
+            if (node == null) {
+                return false;
+            }
+            unlinkFound(tab, index, bin, null, node);
+            return true;
+        }
+
+        Entry<K, V> prev = null;
+        for (Entry<K, V> entry = first; entry != null; entry = entry.next) {
+            if (entry.hash == hash && strategy.equals(entry.key, key)) {
+                unlinkFound(tab, index, null, prev, entry);
+                return true;
+            }
+            prev = entry;
+        }
+        return false;
+    }
+
+    /**
+     * Включает или выключает сбор статистики. При включении счетчики обнуляются.
+     *
+     * @param enabled {@code true}, чтобы собирать статистику
+     */
+    public void setStatsEnabled(boolean enabled) {
+        metrics = enabled ? new Metrics() : null;
+    }
+
+    /**
+     * Проверяет, включен ли сбор статистики.
+     *
+     * @return {@code true}, если статистика собирается
+     */
+    public boolean isStatsEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * Возвращает снимок статистики карты. Распределение длин цепочек вычисляется обходом таблицы
+     * за время, пропорциональное ее размеру; счетчики равны нулю, если сбор статистики выключен.
+     * Метод не изменяет карту и не продвигает постепенный перенос: пока перенос идет, учитываются
+     * еще не перенесенные корзины старой таблицы и те корзины новой таблицы, в которых поиск
+     * уже выполняется, то есть каждая корзина, где может находиться ключ, ровно один раз.
+     *
+     * @return снимок статистики
+     */
+    public MyOwnHashMapStats stats() {
+        long[] chainLengths = new long[MyOwnHashMapStats.MAX_TRACKED_LENGTH + 1];
+        int[] longestAndTrees = new int[2]; // Самая длинная цепочка и количество деревьев
+        Entry<K, V>[] old = oldTable;
+        Entry<K, V>[] tab = table;
+        if (old == null) {
+            for (Entry<K, V> bucket : tab) {
+                countBucket(bucket, chainLengths, longestAndTrees);
+            }
+        } else {
+            for (Entry<K, V> bucket : old) {
+                if (bucket != FORWARDED) {
+                    countBucket(bucket, chainLengths, longestAndTrees);
+                }
+            }
+            int oldMask = old.length - 1;
+            for (int i = 0; i < tab.length; i++) {
+                if (old[i & oldMask] == FORWARDED) {
+                    countBucket(tab[i], chainLengths, longestAndTrees);
+                }
+            }
+        }
+        Metrics m = metrics;
+        return new MyOwnHashMapStats(size, tab.length, chainLengths, longestAndTrees[0], longestAndTrees[1],
+                m == null ? 0 : m.hits, m == null ? 0 : m.misses,
+                m == null ? 0 : m.resizes, m == null ? 0 : m.resizeNanos);
+    }
+
+    /**
+     * Учитывает длину корзины в распределении длин цепочек.
+     */
+    private static void countBucket(Entry<?, ?> bucket, long[] chainLengths, int[] longestAndTrees) {
+        int length;
+        if (bucket instanceof TreeBin) {
+            length = ((TreeBin<?, ?>) bucket).count;
+            longestAndTrees[1]++;
+        } else {
+            length = 0;
+            for (Entry<?, ?> entry = bucket; entry != null; entry = entry.next) {
+                length++;
+            }
+        }
+        chainLengths[Math.min(length, MyOwnHashMapStats.MAX_TRACKED_LENGTH)]++;
+        longestAndTrees[0] = Math.max(longestAndTrees[0], length);
+    }
+
+    /**
+     * Выполняет действие для каждой пары "ключ-значение" карты.
+     *
+     * @param action действие
+     * @throws ConcurrentModificationException если структура карты изменилась во время обхода
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Entry<K, V>[] tab = iterationTable();
+        int expectedModCount = modCount;
+        for (Entry<K, V> bucket : tab) {
+            for (Entry<K, V> entry = firstOf(bucket); entry != null; entry = entry.next) {
+                action.accept(entry.key, entry.value);
+                // Проверка после каждого элемента: после роста таблицы корзины заменяются маркером переноса
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает представление ключей карты. Представление отражает текущее содержимое карты
+     * и не поддерживает изменение.
+     *
+     * @return множество ключей
+     */
+    public Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+                return Spliterators.iterator(spliterator());
+            }
+
+            @Override
+            public Spliterator<K> spliterator() {
+                return new HashSpliterator<>(MyOwnHashMap.this, entry -> entry.key, Spliterator.DISTINCT);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return findForeign(o) != null;
+            }
+        };
+    }
+
+    /**
+     * Возвращает представление значений карты. Представление отражает текущее содержимое карты
+     * и не поддерживает изменение.
+     *
+     * @return коллекция значений
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return Spliterators.iterator(spliterator());
+            }
+
+            @Override
+            public Spliterator<V> spliterator() {
+                return new HashSpliterator<>(MyOwnHashMap.this, entry -> entry.value, 0);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Возвращает представление пар "ключ-значение" карты. Элементы представления - сами элементы
+     * карты, поэтому {@link Map.Entry#setValue} изменяет значение в карте. Добавление и удаление
+     * через представление не поддерживаются.
+     *
+     * @return множество пар
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return Spliterators.iterator(spliterator());
+            }
+
+            @Override
+            public Spliterator<Map.Entry<K, V>> spliterator() {
+                return new HashSpliterator<>(MyOwnHashMap.this, entry -> entry, Spliterator.DISTINCT);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                Entry<K, V> entry = findForeign(e.getKey());
+                return entry != null && Objects.equals(entry.value, e.getValue());
+            }
+        };
+    }
+
+    /**
+     * Возвращает последовательный поток пар "ключ-значение". Для параллельного обхода
+     * достаточно вызвать {@code stream().parallel()}.
+     *
+     * @return поток пар
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(entrySet().spliterator(), false);
+    }
+
+    /**
+     * Создает неизменяемый снимок карты с минимальной совершенной хэш-функцией: каждый поиск
+     * в снимке проверяет одну позицию. Снимок использует стратегию этой карты и не зависит
+     * от ее последующих изменений.
+     *
+     * @return неизменяемая копия карты
+     */
+    public MyOwnFrozenMap<K, V> freeze() {
+        Entry<K, V>[] tab = iterationTable();
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        int count = 0;
+        for (Entry<K, V> bucket : tab) {
+            for (Entry<K, V> entry = firstOf(bucket); entry != null; entry = entry.next) {
+                keys[count] = entry.key;
+                values[count++] = entry.value;
+            }
+        }
+        return new MyOwnFrozenMap<>(keys, values, count, strategy);
+    }
+
+    /**
+     * Доводит до конца незавершенный перенос, чтобы все элементы находились в одной таблице.
+     *
+     * @return таблица для обхода
+     */
+    private Entry<K, V>[] iterationTable() {
+        if (oldTable != null) {
+            completeTransfer();
+        }
+        return table;
+    }
+
+    /**
+     * Возвращает первый элемент корзины в виде цепочки; для дерева - начало его списка.
+     */
+    private static <K, V> Entry<K, V> firstOf(Entry<K, V> bucket) {
+        return bucket instanceof TreeBin ? ((TreeBin<K, V>) bucket).first : bucket;
+    }
+
+    /**
+     * Разделяемый обход диапазона корзин {@code [index, fence)}. Деление пополам отдает
+     * левую половину диапазона новому обходу.
+     *
+     * @param <T> тип элементов, извлекаемых из элементов карты
+     */
+    private static final class HashSpliterator<K, V, T> implements Spliterator<T> {
+        private final MyOwnHashMap<K, V> map;
+        private final Function<Entry<K, V>, T> extractor;
+        private final int characteristics;
+        private Entry<K, V>[] tab; // null до первого использования
+        private Entry<K, V> current; // Следующий элемент в текущей корзине
+        private int index; // Следующая корзина
+        private int fence; // Граница диапазона или -1 до первого использования
+        private int est; // Оценка количества элементов
+        private int expectedModCount;
+
+        HashSpliterator(MyOwnHashMap<K, V> map, Function<Entry<K, V>, T> extractor, int characteristics) {
+            this(map, extractor, characteristics, null, 0, -1, 0, 0);
+        }
+
+        private HashSpliterator(MyOwnHashMap<K, V> map, Function<Entry<K, V>, T> extractor, int characteristics,
+                                Entry<K, V>[] tab, int index, int fence, int est, int expectedModCount) {
+            this.map = map;
+            this.extractor = extractor;
+            this.characteristics = characteristics;
+            this.tab = tab;
+            this.index = index;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+         * Привязывает обход к таблице при первом использовании.
+         */
+        private int getFence() {
+            if (fence < 0) {
+                tab = map.iterationTable();
+                fence = tab.length;
+                est = map.size;
+                expectedModCount = map.modCount;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            est >>>= 1;
+            return new HashSpliterator<>(map, extractor, characteristics, tab, lo, mid, est, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            int hi = getFence();
+            while (current != null || index < hi) {
+                if (current == null) {
+                    current = firstOf(tab[index++]);
+                } else {
+                    Entry<K, V> entry = current;
+                    current = entry.next;
+                    action.accept(extractor.apply(entry));
+                    if (map.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            int hi = getFence();
+            Entry<K, V>[] tab = this.tab;
+            Entry<K, V> entry = current;
+            int i = index;
+            current = null;
+            index = hi;
+            while (true) {
+                for (; entry != null; entry = entry.next) {
+                    action.accept(extractor.apply(entry));
+                    if (map.modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                }
+                if (i >= hi) {
+                    break;
+                }
+                entry = firstOf(tab[i++]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            getFence();
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) | characteristics;
+        }
+    }
+
+    /**
+     * Ассоциирует каждое значение с ключом на той же позиции. Таблица заранее увеличивается
+     * один раз под итоговое количество элементов. Если ключ повторяется, побеждает последнее значение.
+     *
+     * @param keys   ключи
+     * @param values значения; длина должна совпадать с длиной массива ключей
+     * @throws IllegalArgumentException если длины массивов различаются
+     * @throws NullPointerException     если один из ключей равен {@code null}; карта при этом не изменяется
+     */
+    public void putAll(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Длины массивов ключей и значений различаются: "
+                    + keys.length + " и " + values.length);
+        }
+        putAll(keys, values, keys.length);
+    }
+
+    /**
+     * Ассоциирует значения с ключами из последовательности пар, например {@code map.entrySet()}.
+     * Если ключ повторяется, побеждает последнее значение.
+     *
+     * @param entries пары "ключ-значение"
+     * @throws NullPointerException если один из ключей равен {@code null}; карта при этом не изменяется
+     */
+    public void putAll(Iterable<? extends Map.Entry<? extends K, ? extends V>> entries) {
+        Object[] keys = new Object[DEFAULT_CAPACITY];
+        Object[] values = new Object[DEFAULT_CAPACITY];
+        int count = 0;
+        for (Map.Entry<? extends K, ? extends V> entry : entries) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count << 1);
+                values = Arrays.copyOf(values, count << 1);
+            }
+            keys[count] = entry.getKey();
+            values[count] = entry.getValue();
+            count++;
+        }
+        putAll(keys, values, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void putAll(Object[] keys, Object[] values, int count) {
+        int[] hashes = hashes(keys, count);
+        presize(size + newKeys(keys, hashes, count));
+        int[] order = bucketOrder(hashes, count);
+        for (int i = 0; i < count; i++) {
+            int j = order == null ? i : order[i];
+            update(hashes[j], (K) keys[j], (V) values[j], null, PUT);
+        }
+    }
+
+    /**
+     * Оценивает сверху, сколько ключей пакета добавят новые элементы. Ключи ищутся в карте,
+     * только если пакет может не поместиться без роста таблицы и карта не пуста, иначе
+     * новыми считаются все ключи. Повторы внутри пакета не исключаются.
+     */
+    @SuppressWarnings("unchecked")
+    private int newKeys(Object[] keys, int[] hashes, int count) {
+        if (size == 0 || size + count <= threshold) {
+            return count;
+        }
+        int absent = 0;
+        for (int i = 0; i < count; i++) {
+            if (findEntry(hashes[i], (K) keys[i]) == null) {
+                absent++;
+            }
+        }
+        return absent;
+    }
+
+    /**
+     * Находит значения всех ключей. Значение ключа {@code keys[i]} записывается в {@code out[i]},
+     * для отсутствующих ключей записывается {@code null}.
+     *
+     * @param keys ключи
+     * @param out  массив для значений, не короче массива ключей
+     * @return количество найденных ключей
+     * @throws IllegalArgumentException если массив для значений короче массива ключей
+     * @throws NullPointerException     если один из ключей равен {@code null}
+     */
+    public int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Массив для значений короче массива ключей: "
+                    + out.length + " < " + keys.length);
+        }
+        int count = keys.length;
+        int[] hashes = hashes(keys, count);
+        int[] order = bucketOrder(hashes, count);
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int j = order == null ? i : order[i];
+            Entry<K, V> entry = findEntry(hashes[j], keys[j]);
+            out[j] = entry == null ? null : entry.value;
+            if (entry != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Удаляет отображения для всех указанных ключей.
+     *
+     * @param keys ключи, отображения которых нужно удалить
+     * @return количество удаленных элементов
+     * @throws NullPointerException если один из ключей равен {@code null}; карта при этом не изменяется
+     */
+    public int removeAll(K[] keys) {
+        int count = keys.length;
+        int[] hashes = hashes(keys, count);
+        int[] order = bucketOrder(hashes, count);
+        int removed = 0;
+        for (int i = 0; i < count; i++) {
+            int j = order == null ? i : order[i];
+            if (removeVal(hashes[j], keys[j])) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Вычисляет хэши первых {@code count} ключей до каких-либо изменений карты.
+     */
+    @SuppressWarnings("unchecked")
+    private int[] hashes(Object[] keys, int count) {
+        int[] hashes = new int[count];
+        for (int i = 0; i < count; i++) {
+            hashes[i] = hash((K) keys[i]);
+        }
+        return hashes;
+    }
+
+    /**
+     * Упорядочивает позиции ключей по номеру корзины устойчивой сортировкой подсчетом.
+     * Ключи раскладываются примерно по {@code count} группам соседних корзин, поэтому
+     * сортировка линейна по размеру пакета, а не по размеру таблицы. Порядок одинаковых
+     * ключей сохраняется.
+     *
+     * @return перестановка позиций или {@code null}, если пакет мал и сортировка не окупается
+     */
+    private int[] bucketOrder(int[] hashes, int count) {
+        if (count < MIN_BATCH_ORDERING) {
+            return null;
+        }
+        int mask = table.length - 1;
+        int tableBits = Integer.numberOfTrailingZeros(table.length);
+        int groupBits = Math.min(tableBits, 32 - Integer.numberOfLeadingZeros(count - 1));
+        int shift = tableBits - groupBits;
+        int[] starts = new int[(1 << groupBits) + 1];
+        for (int i = 0; i < count; i++) {
+            starts[((hashes[i] & mask) >>> shift) + 1]++;
+        }
+        for (int g = 1; g < starts.length; g++) {
+            starts[g] += starts[g - 1];
+        }
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[starts[(hashes[i] & mask) >>> shift]++] = i;
+        }
+        return order;
+    }
 
-        for (Entry<K, V> entry : bucket) {
-            if (entry.key.equals(key)) {
-                bucket.remove(entry);
-                size--;
-                return;
+    /**
+     * Завершает незаконченный перенос и за один шаг увеличивает таблицу так, чтобы указанное
+     * количество элементов поместилось без роста.
+     */
+    private void presize(int expectedSize) {
+        if (oldTable != null) {
+            completeTransfer();
+        }
+        if (expectedSize <= threshold || table.length >= MAXIMUM_CAPACITY) {
+            return;
+        }
+        int newCapacity = tableSizeFor((int) Math.min(Math.ceil(expectedSize / (double) loadFactor),
+                MAXIMUM_CAPACITY));
+        while (newCapacity < MAXIMUM_CAPACITY && thresholdFor(newCapacity) < expectedSize) {
+            newCapacity <<= 1; // Поправка на округление порога
+        }
+        if (newCapacity > table.length) {
+            resize(newCapacity);
+            if (oldTable != null) {
+                completeTransfer();
             }
         }
     }
@@ -113,6 +1127,7 @@ public class MyOwnHashMap<K, V> {
      *
      * @return количество пар "ключ-значение" в этой карте
      */
+    @Override
     public int size() {
         return size;
     }
@@ -122,7 +1137,516 @@ public class MyOwnHashMap<K, V> {
      *
      * @return {@code true}, если эта карта пуста; {@code false} в противном случае
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
+
+    /**
+     * Возвращает первый элемент корзины, в которой должен находиться ключ с указанным хэшем.
+     * Во время переноса ключ находится в старой таблице, пока его корзина не перенесена.
+     */
+    private Entry<K, V> bucketFor(int hash) {
+        Entry<K, V>[] old = oldTable;
+        if (old != null) {
+            Entry<K, V> first = old[hash & (old.length - 1)];
+            if (first != FORWARDED) {
+                return first;
+            }
+        }
+        return table[hash & (table.length - 1)];
+    }
+
+    /**
+     * Подготавливает таблицу к изменению корзины с указанным хэшем: переносит эту корзину,
+     * если она еще в старой таблице, и продвигает постепенный перенос на несколько шагов.
+     *
+     * @return таблица, в которой следует выполнять изменение
+     */
+    private Entry<K, V>[] writableTable(int hash) {
+        Entry<K, V>[] old = oldTable;
+        if (old != null) {
+            Metrics m = metrics;
+            long start = m == null ? 0 : System.nanoTime();
+            transferBucket(old, hash & (old.length - 1));
+            rehashStep(old);
+            if (m != null) {
+                m.resizeNanos += System.nanoTime() - start;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Удваивает таблицу. Элементы остаются в старой таблице и переносятся постепенно.
+     */
+    private void resize() {
+        if (oldTable != null) {
+            // Предыдущий перенос не успел завершиться: доводим его до конца
+            completeTransfer();
+        }
+        resize(table.length << 1);
+    }
+
+    /**
+     * Заменяет таблицу новой таблицей указанного размера, большего текущего. При удвоении
+     * элементы переносятся постепенно, при большем росте - сразу, одним проходом по старой таблице.
+     * Незаконченного переноса быть не должно.
+     *
+     * @param newCapacity новый размер таблицы, степень двойки
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int newCapacity) {
+        Metrics m = metrics;
+        long start = m == null ? 0 : System.nanoTime();
+        int oldCapacity = table.length;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        MyOwnHashMapResizeEvent event = null;
+        if (m != null) {
+            event = new MyOwnHashMapResizeEvent();
+            event.begin();
+        }
+        Entry<K, V>[] old = table;
+        table = (Entry<K, V>[]) new Entry<?, ?>[newCapacity];
+        threshold = thresholdFor(newCapacity);
+        modCount++; // Обходы, привязанные к старой таблице, больше не видят новые корзины
+        if (newCapacity == oldCapacity << 1) {
+            oldTable = old;
+            transferIndex = 0;
+        } else {
+            for (int i = 0; i < oldCapacity; i++) {
+                spreadBucket(old[i], i, oldCapacity);
+            }
+        }
+        if (m != null) {
+            m.resizes++;
+            m.resizeNanos += System.nanoTime() - start;
+            if (event.shouldCommit()) {
+                event.oldCapacity = oldCapacity;
+                event.newCapacity = newCapacity;
+                event.size = size;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Распределяет корзину {@code index} старой таблицы размера {@code oldCapacity} по корзинам
+     * новой таблицы любого большего размера. Элементы попадают только в корзины
+     * {@code index + k * oldCapacity}, которые до этого пусты. Порядок элементов сохраняется:
+     * цепочка разворачивается, а затем ее элементы вставляются в начало своих корзин.
+     */
+    private void spreadBucket(Entry<K, V> bucket, int index, int oldCapacity) {
+        if (bucket == null) {
+            return;
+        }
+        boolean tree = bucket instanceof TreeBin;
+        Entry<K, V> entry = tree ? ((TreeBin<K, V>) bucket).first : bucket;
+        Entry<K, V> reversed = null;
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            entry.next = reversed;
+            reversed = entry;
+            entry = next;
+        }
+        Entry<K, V>[] tab = table;
+        int mask = tab.length - 1;
+        while (reversed != null) {
+            Entry<K, V> next = reversed.next;
+            int i = reversed.hash & mask;
+            reversed.next = tab[i];
+            tab[i] = reversed;
+            reversed = next;
+        }
+        if (tree) {
+            // Элементы дерева перестраиваются в дерево или обычную цепочку в каждой новой корзине
+            for (int i = index; i < tab.length; i += oldCapacity) {
+                Entry<K, V> head = tab[i];
+                if (head != null) {
+                    int count = 0;
+                    for (Entry<K, V> e = head; e != null; e = e.next) {
+                        count++;
+                    }
+                    tab[i] = count <= UNTREEIFY_THRESHOLD ? untreeify(head) : new TreeBin<>(head, strategy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Переносит очередные корзины старой таблицы в новую.
+     */
+    private void rehashStep(Entry<K, V>[] old) {
+        int budget = REHASH_STEP;
+        int visits = REHASH_MAX_VISITS;
+        int i = transferIndex;
+        while (i < old.length && budget > 0 && visits-- > 0) {
+            if (old[i] != FORWARDED) {
+                transferBucket(old, i);
+                budget--;
+            }
+            i++;
+        }
+        transferIndex = i;
+        if (i == old.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * Немедленно завершает постепенный перенос.
+     */
+    private void completeTransfer() {
+        Entry<K, V>[] old = oldTable;
+        for (int i = transferIndex; i < old.length; i++) {
+            transferBucket(old, i);
+        }
+        oldTable = null;
+    }
+
+    /**
+     * Переносит одну корзину старой таблицы. Так как таблица удваивается, элементы корзины
+     * {@code i} попадают либо в корзину {@code i}, либо в корзину {@code i + old.length}
+     * новой таблицы; обе они до переноса пусты. Порядок элементов сохраняется.
+     */
+    @SuppressWarnings("unchecked")
+    private void transferBucket(Entry<K, V>[] old, int index) {
+        Entry<K, V> entry = old[index];
+        if (entry == FORWARDED) {
+            return;
+        }
+        boolean tree = entry instanceof TreeBin;
+        if (tree) {
+            entry = ((TreeBin<K, V>) entry).first;
+        }
+        int oldCapacity = old.length;
+        Entry<K, V> loHead = null, loTail = null, hiHead = null, hiTail = null;
+        int loCount = 0, hiCount = 0;
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            entry.next = null;
+            if ((entry.hash & oldCapacity) == 0) {
+                if (loTail == null) {
+                    loHead = entry;
+                } else {
+                    loTail.next = entry;
+                }
+                loTail = entry;
+                loCount++;
+            } else {
+                if (hiTail == null) {
+                    hiHead = entry;
+                } else {
+                    hiTail.next = entry;
+                }
+                hiTail = entry;
+                hiCount++;
+            }
+            entry = next;
+        }
+        if (tree) {
+            table[index] = loCount <= UNTREEIFY_THRESHOLD ? untreeify(loHead) : new TreeBin<>(loHead, strategy);
+            table[index + oldCapacity] = hiCount <= UNTREEIFY_THRESHOLD ? untreeify(hiHead) : new TreeBin<>(hiHead, strategy);
+        } else {
+            table[index] = loHead;
+            table[index + oldCapacity] = hiHead;
+        }
+        old[index] = (Entry<K, V>) FORWARDED;
+    }
+
+    /**
+     * Превращает цепочку в дерево. Если таблица еще мала, вместо этого начинает ее рост:
+     * длинная цепочка в маленькой таблице обычно означает нехватку корзин, а не коллизии.
+     */
+    private void treeifyBin(Entry<K, V>[] tab, int index) {
+        if (tab.length < MIN_TREEIFY_CAPACITY) {
+            if (oldTable == null) {
+                resize();
+            }
+        } else if (!(tab[index] instanceof TreeBin)) {
+            tab[index] = new TreeBin<>(tab[index], strategy);
+        }
+    }
+
+    /**
+     * Строит обычную цепочку из элементов списка дерева.
+     *
+     * @param head первый элемент списка
+     * @return первый элемент новой цепочки
+     */
+    private static <K, V> Entry<K, V> untreeify(Entry<K, V> head) {
+        Entry<K, V> first = null, last = null;
+        for (Entry<K, V> entry = head; entry != null; entry = entry.next) {
+            Entry<K, V> copy = new Entry<>(entry.hash, entry.key, entry.value, null);
+            if (last == null) {
+                first = copy;
+            } else {
+                last.next = copy;
+            }
+            last = copy;
+        }
+        return first;
+    }
+
+    /**
+     * Возвращает класс ключа, если он сравним сам с собой ({@code class C implements Comparable<C>}),
+     * иначе {@code null}.
+     */
+    static Class<?> comparableClassFor(Object key) {
+        if (key instanceof Comparable) {
+            Class<?> c = key.getClass();
+            if (c == String.class) {
+                return c;
+            }
+            for (Type type : c.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType) {
+                    ParameterizedType p = (ParameterizedType) type;
+                    Type[] args = p.getActualTypeArguments();
+                    if (p.getRawType() == Comparable.class && args.length == 1 && args[0] == c) {
+                        return c;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Сравнивает ключи через {@link Comparable}, если оба принадлежат классу {@code kc}.
+     *
+     * @return результат сравнения или 0, если ключи несравнимы
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareComparables(Class<?> kc, Object k, Object x) {
+        return (kc == null || x.getClass() != kc) ? 0 : ((Comparable) k).compareTo(x);
+    }
+
+    /**
+     * Элемент корзины-дерева. Помимо связей дерева элементы образуют двусвязный список
+     * через {@code next}/{@code prev}, по которому корзину можно обойти или разделить.
+     */
+    private static final class TreeNode<K, V> extends Entry<K, V> {
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        TreeNode<K, V> prev;
+        int height;
+        long seq; // Порядковый номер вставки, разрешает равенство хэшей несравнимых ключей
+
+        TreeNode(int hash, K key, V value) {
+            super(hash, key, value, null);
+        }
+    }
+
+    /**
+     * Корзина-дерево: AVL-дерево, упорядоченное по хэшу, затем по {@link Comparable}
+     * (при естественном равенстве ключей), затем по порядку вставки. Хранится в таблице
+     * вместо первого элемента цепочки.
+     */
+    private static final class TreeBin<K, V> extends Entry<K, V> {
+        TreeNode<K, V> root;
+        TreeNode<K, V> first; // Начало списка элементов
+        int count;
+        long nextSeq;
+        final MyOwnHashStrategy<? super K> strategy;
+        final boolean comparable; // Можно ли упорядочивать равные хэши через Comparable
+
+        /**
+         * Строит дерево из цепочки. Элементы дерева переиспользуются, обычные элементы копируются.
+         *
+         * @param head     первый элемент цепочки
+         * @param strategy стратегия сравнения ключей карты
+         */
+        TreeBin(Entry<K, V> head, MyOwnHashStrategy<? super K> strategy) {
+            super(0, null, null, null);
+            this.strategy = strategy;
+            this.comparable = strategy.usesNaturalEquality();
+            Entry<K, V> entry = head;
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                TreeNode<K, V> node;
+                if (entry instanceof TreeNode) {
+                    node = (TreeNode<K, V>) entry;
+                    node.left = node.right = null;
+                } else {
+                    node = new TreeNode<>(entry.hash, entry.key, entry.value);
+                }
+                link(node);
+                entry = next;
+            }
+        }
+
+        /**
+         * Ищет элемент с указанным ключом.
+         *
+         * @return найденный элемент или {@code null}
+         */
+        TreeNode<K, V> find(int hash, K key) {
+            return find(root, hash, key, comparable ? comparableClassFor(key) : null);
+        }
+
+        private TreeNode<K, V> find(TreeNode<K, V> p, int hash, K key, Class<?> kc) {
+            while (p != null) {
+                int dir;
+                if (hash < p.hash) {
+                    p = p.left;
+                } else if (hash > p.hash) {
+                    p = p.right;
+                } else if (strategy.equals(key, p.key)) {
+                    return p;
+                } else if ((dir = compareComparables(kc, key, p.key)) != 0) {
+                    p = dir < 0 ? p.left : p.right;
+                } else {
+                    // Порядок внутри группы равных хэшей неизвестен: ищем в обоих поддеревьях
+                    TreeNode<K, V> found = find(p.right, hash, key, kc);
+                    if (found != null) {
+                        return found;
+                    }
+                    p = p.left;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Добавляет новый элемент. Ключ не должен присутствовать в дереве.
+         */
+        void insert(int hash, K key, V value) {
+            link(new TreeNode<>(hash, key, value));
+        }
+
+        private void link(TreeNode<K, V> node) {
+            node.seq = nextSeq++;
+            node.height = 1;
+            node.prev = null;
+            node.next = first;
+            if (first != null) {
+                first.prev = node;
+            }
+            first = node;
+            root = insert(root, node);
+            count++;
+        }
+
+        /**
+         * Удаляет элемент из дерева и из списка.
+         */
+        void delete(TreeNode<K, V> node) {
+            TreeNode<K, V> next = (TreeNode<K, V>) node.next;
+            if (node.prev == null) {
+                first = next;
+            } else {
+                node.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = node.prev;
+            }
+            root = delete(root, node);
+            count--;
+        }
+
+        /**
+         * Порядок элементов дерева: хэш, затем {@link Comparable}, затем номер вставки.
+         */
+        private int order(TreeNode<?, ?> a, TreeNode<?, ?> b) {
+            if (a.hash != b.hash) {
+                return a.hash < b.hash ? -1 : 1;
+            }
+            int c = comparable ? compareComparables(comparableClassFor(a.key), a.key, b.key) : 0;
+            return c != 0 ? c : Long.compare(a.seq, b.seq);
+        }
+
+        private TreeNode<K, V> insert(TreeNode<K, V> p, TreeNode<K, V> node) {
+            if (p == null) {
+                return node;
+            }
+            if (order(node, p) < 0) {
+                p.left = insert(p.left, node);
+            } else {
+                p.right = insert(p.right, node);
+            }
+            return balance(p);
+        }
+
+        private TreeNode<K, V> delete(TreeNode<K, V> p, TreeNode<K, V> node) {
+            if (p == node) {
+                if (p.left == null) {
+                    return p.right;
+                }
+                if (p.right == null) {
+                    return p.left;
+                }
+                TreeNode<K, V> successor = p.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                successor.right = deleteMin(p.right);
+                successor.left = p.left;
+                return balance(successor);
+            }
+            if (order(node, p) < 0) {
+                p.left = delete(p.left, node);
+            } else {
+                p.right = delete(p.right, node);
+            }
+            return balance(p);
+        }
+
+        private static <K, V> TreeNode<K, V> deleteMin(TreeNode<K, V> p) {
+            if (p.left == null) {
+                return p.right;
+            }
+            p.left = deleteMin(p.left);
+            return balance(p);
+        }
+
+        private static int height(TreeNode<?, ?> p) {
+            return p == null ? 0 : p.height;
+        }
+
+        private static void updateHeight(TreeNode<?, ?> p) {
+            p.height = Math.max(height(p.left), height(p.right)) + 1;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> p) {
+            TreeNode<K, V> l = p.left;
+            p.left = l.right;
+            l.right = p;
+            updateHeight(p);
+            updateHeight(l);
+            return l;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> p) {
+            TreeNode<K, V> r = p.right;
+            p.right = r.left;
+            r.left = p;
+            updateHeight(p);
+            updateHeight(r);
+            return r;
+        }
+
+        /**
+         * Восстанавливает баланс узла после изменения одного из поддеревьев.
+         */
+        private static <K, V> TreeNode<K, V> balance(TreeNode<K, V> p) {
+            updateHeight(p);
+            int diff = height(p.left) - height(p.right);
+            if (diff > 1) {
+                if (height(p.left.left) < height(p.left.right)) {
+                    p.left = rotateLeft(p.left);
+                }
+                return rotateRight(p);
+            }
+            if (diff < -1) {
+                if (height(p.right.right) < height(p.right.left)) {
+                    p.right = rotateRight(p.right);
+                }
+                return rotateLeft(p);
+            }
+            return p;
+        }
+    }
 }
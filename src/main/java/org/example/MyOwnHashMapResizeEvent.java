@@ -0,0 +1,29 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR о росте таблицы {@link MyOwnHashMap}: об удвоении при переполнении или о росте
+ * сразу в несколько раз перед пакетной вставкой. Оба размера записываются явно. Создается
+ * только в режиме сбора статистики и записывается, если включено в настройках записи JFR.
+ */
+@Name("org.example.MyOwnHashMapResize")
+@Label("Рост MyOwnHashMap")
+@Category("MyOwnHashMap")
+@Description("Рост таблицы хэш-карты")
+final class MyOwnHashMapResizeEvent extends Event {
+    @Label("Старый размер таблицы")
+    @Description("Количество корзин до роста")
+    int oldCapacity;
+
+    @Label("Новый размер таблицы")
+    @Description("Количество корзин после роста; не обязательно вдвое больше старого")
+    int newCapacity;
+
+    @Label("Количество элементов")
+    int size;
+}
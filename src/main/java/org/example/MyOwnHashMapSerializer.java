@@ -0,0 +1,187 @@
+package org.example;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+
+/**
+ * Потоковая запись {@link MyOwnHashMap} в компактном двоичном формате и загрузка обратно.
+ * <p>
+ * Формат: заголовок из сигнатуры, версии и количества элементов, затем элементы подряд -
+ * длины ключа и значения по 4 байта и байты ключа и значения, закодированные {@link MyOwnCodec}.
+ * Все числа записываются в порядке little-endian. Данные проходят через один прямой буфер
+ * размером {@link #BUFFER_SIZE}, который кодеки заполняют напрямую через {@link MemorySegment},
+ * поэтому запись не создает промежуточных массивов и объектов на каждый элемент: строки кодируются
+ * в UTF-8 прямо в буфер. При чтении строка сначала копируется во временный массив байтов,
+ * из которого затем декодируется.
+ * <p>
+ * Загрузка создает таблицу под количество элементов из заголовка, так что вставка идет
+ * без роста таблицы и переноса корзин; на элемент выделяются только ключ, значение и узел карты.
+ * <p>
+ * Экземпляр переиспользует свой буфер и не потокобезопасен.
+ *
+ * @param <K> тип ключей
+ * @param <V> тип значений
+ */
+public final class MyOwnHashMapSerializer<K, V> {
+    static final int MAGIC = 0x4D484F4D; // "MOHM" в little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16; // Сигнатура, версия и количество элементов
+    static final int ENTRY_HEADER_SIZE = 8; // Длины ключа и значения
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private final MyOwnCodec<K> keyCodec;
+    private final MyOwnCodec<V> valueCodec;
+    private ByteBuffer buffer;
+    private MemorySegment segment; // Вид буфера для кодеков
+
+    /**
+     * Конструктор, создающий сериализатор с указанными кодеками.
+     *
+     * @param keyCodec   кодек ключей
+     * @param valueCodec кодек значений
+     */
+    public MyOwnHashMapSerializer(MyOwnCodec<K> keyCodec, MyOwnCodec<V> valueCodec) {
+        if (keyCodec == null || valueCodec == null) {
+            throw new NullPointerException();
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        allocate(BUFFER_SIZE);
+    }
+
+    private void allocate(int capacity) {
+        buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        segment = MemorySegment.ofBuffer(buffer);
+    }
+
+    /**
+     * Записывает карту в канал. Канал не закрывается.
+     *
+     * @param map     карта
+     * @param channel канал для записи
+     * @throws IOException если запись в канал не удалась
+     */
+    public void write(MyOwnHashMap<K, V> map, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = this.buffer;
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(map.size());
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            K key = entry.getKey();
+            V value = entry.getValue();
+            int keySize = keyCodec.size(key);
+            int valueSize = valueCodec.size(value);
+            int length = ENTRY_HEADER_SIZE + keySize + valueSize;
+            if (buffer.remaining() < length) {
+                drain(channel);
+                if (buffer.capacity() < length) {
+                    allocate(length); // Буфер растет только под элемент, не помещающийся целиком
+                }
+                buffer = this.buffer;
+            }
+            int position = buffer.position();
+            buffer.putInt(keySize).putInt(valueSize);
+            keyCodec.write(segment, position + ENTRY_HEADER_SIZE, key);
+            valueCodec.write(segment, position + ENTRY_HEADER_SIZE + keySize, value);
+            buffer.position(position + length);
+        }
+        drain(channel);
+    }
+
+    /**
+     * Записывает накопленные байты в канал и очищает буфер.
+     */
+    private void drain(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Загружает карту из канала в новую карту с естественной стратегией хэширования.
+     * Канал читается блоками размером с буфер, поэтому после карты в нем не должно быть других данных.
+     * Канал не закрывается.
+     *
+     * @param channel канал для чтения
+     * @return загруженная карта
+     * @throws IOException если чтение не удалось, данные оборваны или не являются картой
+     */
+    public MyOwnHashMap<K, V> read(ReadableByteChannel channel) throws IOException {
+        return read(channel, MyOwnHashStrategy.natural());
+    }
+
+    /**
+     * Загружает карту из канала в новую карту с указанной стратегией хэширования.
+     * Канал читается блоками размером с буфер, поэтому после карты в нем не должно быть других данных.
+     * Канал не закрывается.
+     *
+     * @param channel  канал для чтения
+     * @param strategy стратегия хэширования и сравнения ключей новой карты
+     * @return загруженная карта
+     * @throws IOException если чтение не удалось, данные оборваны или не являются картой
+     */
+    public MyOwnHashMap<K, V> read(ReadableByteChannel channel, MyOwnHashStrategy<? super K> strategy)
+            throws IOException {
+        ByteBuffer buffer = this.buffer;
+        buffer.clear().limit(0);
+        fill(channel, HEADER_SIZE);
+        buffer = this.buffer;
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Данные не являются картой или имеют другую версию");
+        }
+        long count = buffer.getLong();
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IOException("Недопустимое количество элементов: " + count);
+        }
+        MyOwnHashMap<K, V> map = new MyOwnHashMap<>((int) Math.min(count / (double) MyOwnHashMap.DEFAULT_LOAD_FACTOR
+                + 1, MyOwnHashMap.MAXIMUM_CAPACITY), MyOwnHashMap.DEFAULT_LOAD_FACTOR, strategy);
+        for (long i = 0; i < count; i++) {
+            fill(channel, ENTRY_HEADER_SIZE);
+            buffer = this.buffer;
+            int keySize = buffer.getInt();
+            int valueSize = buffer.getInt();
+            if (keySize < 0 || valueSize < 0 || (long) keySize + valueSize > Integer.MAX_VALUE) {
+                throw new IOException("Поврежден элемент " + i + ": длины " + keySize + ", " + valueSize);
+            }
+            fill(channel, keySize + valueSize);
+            buffer = this.buffer;
+            int position = buffer.position();
+            K key = keyCodec.read(segment, position, keySize);
+            V value = valueCodec.read(segment, position + keySize, valueSize);
+            buffer.position(position + keySize + valueSize);
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    /**
+     * Дочитывает из канала, пока в буфере не окажется хотя бы {@code needed} непрочитанных байтов.
+     * Элемент, не помещающийся в буфер, читается в увеличенный буфер.
+     */
+    private void fill(ReadableByteChannel channel, int needed) throws IOException {
+        ByteBuffer buffer = this.buffer;
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        if (buffer.capacity() < needed) {
+            ByteBuffer rest = buffer;
+            allocate(needed);
+            this.buffer.put(rest).flip();
+            buffer = this.buffer;
+        }
+        buffer.compact();
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Неожиданный конец данных карты");
+            }
+        }
+        buffer.flip();
+    }
+}
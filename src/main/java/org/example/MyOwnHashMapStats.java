@@ -0,0 +1,172 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Снимок состояния {@link MyOwnHashMap}: заполнение таблицы, распределение длин цепочек
+ * и счетчики, накопленные в режиме сбора статистики.
+ * <p>
+ * Распределение длин вычисляется при создании снимка обходом таблицы, поэтому на операции
+ * карты не влияет. Счетчики попаданий, промахов и роста ведутся только пока сбор статистики
+ * включен через {@link MyOwnHashMap#setStatsEnabled(boolean)}.
+ */
+public final class MyOwnHashMapStats {
+    /**
+     * Цепочки такой и большей длины учитываются в последнем элементе распределения.
+     */
+    public static final int MAX_TRACKED_LENGTH = 16;
+
+    private final int size;
+    private final int capacity;
+    private final long[] chainLengths;
+    private final int longestChain;
+    private final int treeBins;
+    private final long hits;
+    private final long misses;
+    private final long resizes;
+    private final long resizeNanos;
+
+    MyOwnHashMapStats(int size, int capacity, long[] chainLengths, int longestChain, int treeBins,
+                      long hits, long misses, long resizes, long resizeNanos) {
+        this.size = size;
+        this.capacity = capacity;
+        this.chainLengths = chainLengths;
+        this.longestChain = longestChain;
+        this.treeBins = treeBins;
+        this.hits = hits;
+        this.misses = misses;
+        this.resizes = resizes;
+        this.resizeNanos = resizeNanos;
+    }
+
+    /**
+     * Возвращает количество элементов карты.
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает количество корзин таблицы.
+     *
+     * @return размер таблицы
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Возвращает фактическую загрузку таблицы: количество элементов на корзину.
+     *
+     * @return загрузка таблицы
+     */
+    public double loadFactor() {
+        return capacity == 0 ? 0 : size / (double) capacity;
+    }
+
+    /**
+     * Возвращает количество корзин с цепочкой указанной длины. Пустые корзины имеют длину 0,
+     * корзина-дерево учитывается по количеству своих элементов. Во время постепенного переноса
+     * еще не перенесенная корзина старой таблицы учитывается вместо двух своих корзин новой
+     * таблицы, поэтому сумма по всем длинам может быть меньше {@link #capacity()}.
+     *
+     * @param length длина цепочки; значение {@link #MAX_TRACKED_LENGTH} означает "эта длина и больше"
+     * @return количество корзин
+     * @throws IndexOutOfBoundsException если длина вне диапазона от 0 до {@link #MAX_TRACKED_LENGTH}
+     */
+    public long bucketsWithLength(int length) {
+        if (length < 0 || length > MAX_TRACKED_LENGTH) {
+            throw new IndexOutOfBoundsException("Индекс: " + length + ", Размер: " + chainLengths.length);
+        }
+        return chainLengths[length];
+    }
+
+    /**
+     * Возвращает длину самой длинной цепочки.
+     *
+     * @return наибольшая длина цепочки
+     */
+    public int longestChain() {
+        return longestChain;
+    }
+
+    /**
+     * Возвращает количество корзин, превращенных в дерево.
+     *
+     * @return количество корзин-деревьев
+     */
+    public int treeBins() {
+        return treeBins;
+    }
+
+    /**
+     * Возвращает среднее количество элементов, просматриваемых при успешном поиске,
+     * в предположении равновероятного обращения к элементам.
+     *
+     * @return средняя длина успешного поиска
+     */
+    public double averageSuccessfulProbe() {
+        long total = 0;
+        for (int length = 1; length < chainLengths.length; length++) {
+            total += chainLengths[length] * (long) length * (length + 1) / 2;
+        }
+        return size == 0 ? 0 : total / (double) size;
+    }
+
+    /**
+     * Возвращает количество вызовов {@code get}, нашедших ключ.
+     *
+     * @return количество попаданий
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Возвращает количество вызовов {@code get}, не нашедших ключ.
+     *
+     * @return количество промахов
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Возвращает долю попаданий среди вызовов {@code get}.
+     *
+     * @return доля попаданий или 0, если вызовов не было
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    /**
+     * Возвращает количество удвоений таблицы.
+     *
+     * @return количество ростов таблицы
+     */
+    public long resizes() {
+        return resizes;
+    }
+
+    /**
+     * Возвращает суммарное время, затраченное на рост таблицы и перенос корзин.
+     *
+     * @return время в наносекундах
+     */
+    public long resizeNanos() {
+        return resizeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MyOwnHashMapStats{size=" + size + ", capacity=" + capacity
+                + ", longestChain=" + longestChain + ", treeBins=" + treeBins
+                + ", chainLengths=" + Arrays.toString(chainLengths)
+                + ", hits=" + hits + ", misses=" + misses
+                + ", resizes=" + resizes + ", resizeNanos=" + resizeNanos + '}';
+    }
+}
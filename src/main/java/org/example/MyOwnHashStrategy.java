@@ -0,0 +1,194 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Стратегия хэширования и сравнения ключей для {@link MyOwnHashMap}.
+ * <p>
+ * Позволяет хранить ключи без обертки: например, массивы байтов сравниваются по содержимому
+ * стратегией {@link #byteArrays()}, а составные ключи - собственной реализацией интерфейса.
+ * Карта выбирает корзину по младшим битам хэша, поэтому стратегия должна подмешивать
+ * старшие биты в младшие.
+ *
+ * @param <K> тип ключей
+ */
+public interface MyOwnHashStrategy<K> {
+
+    /**
+     * Вычисляет хэш ключа. Равные по {@link #equals(Object, Object)} ключи должны иметь равные хэши.
+     *
+     * @param key ключ, не {@code null}
+     * @return хэш ключа
+     */
+    int hash(K key);
+
+    /**
+     * Проверяет равенство ключей.
+     *
+     * @param a первый ключ, не {@code null}
+     * @param b второй ключ, не {@code null}
+     * @return {@code true}, если ключи равны
+     */
+    boolean equals(K a, K b);
+
+    /**
+     * Сообщает, совпадает ли равенство этой стратегии с {@link Object#equals}. Тогда карта может
+     * упорядочивать ключи, реализующие {@link Comparable}, внутри корзин-деревьев.
+     *
+     * @return {@code true}, если равенство естественное
+     */
+    default boolean usesNaturalEquality() {
+        return false;
+    }
+
+    /**
+     * Возвращает стратегию по умолчанию: {@link Object#hashCode()}, старшая половина которого
+     * подмешивается в младшую, и {@link Object#equals}.
+     *
+     * @param <K> тип ключей
+     * @return естественная стратегия
+     */
+    static <K> MyOwnHashStrategy<K> natural() {
+        return new NaturalStrategy<>() {
+            @Override
+            public int hash(K key) {
+                int h = key.hashCode();
+                return h ^ (h >>> 16);
+            }
+        };
+    }
+
+    /**
+     * Возвращает стратегию с финализатором MurmurHash3 поверх {@link Object#hashCode()}.
+     * Каждый бит хэш-кода влияет на все биты результата; подходит для ключей с плохо
+     * распределенными хэш-кодами, например последовательных чисел с общим шагом.
+     *
+     * @param <K> тип ключей
+     * @return стратегия с перемешиванием Murmur
+     */
+    static <K> MyOwnHashStrategy<K> murmur() {
+        return new NaturalStrategy<>() {
+            @Override
+            public int hash(K key) {
+                return fmix32(key.hashCode());
+            }
+        };
+    }
+
+    /**
+     * Возвращает стратегию в духе FxHash: одно умножение на нечетную константу и свертка
+     * старшей половины. Дешевле {@link #murmur()}, но перемешивает слабее.
+     *
+     * @param <K> тип ключей
+     * @return стратегия с перемешиванием умножением
+     */
+    static <K> MyOwnHashStrategy<K> fx() {
+        return new NaturalStrategy<>() {
+            @Override
+            public int hash(K key) {
+                return MyOwnOpenHashMap.mix(key.hashCode());
+            }
+        };
+    }
+
+    /**
+     * Возвращает стратегию, сравнивающую ключи по ссылке, как {@link java.util.IdentityHashMap}.
+     *
+     * @param <K> тип ключей
+     * @return стратегия тождественности
+     */
+    static <K> MyOwnHashStrategy<K> identity() {
+        return new MyOwnHashStrategy<>() {
+            @Override
+            public int hash(K key) {
+                return MyOwnOpenHashMap.mix(System.identityHashCode(key));
+            }
+
+            @Override
+            public boolean equals(K a, K b) {
+                return a == b;
+            }
+        };
+    }
+
+    /**
+     * Возвращает стратегию со случайным зерном, выбираемым при каждом вызове метода, для защиты
+     * от намеренного подбора коллизий. Строки хэшируются по содержимому с зерном, поэтому строки
+     * с одинаковым {@link String#hashCode()} в общем случае попадают в разные корзины. Для прочих
+     * ключей зерно подмешивается к хэш-коду, что скрывает распределение по корзинам, но не
+     * разделяет ключи с равными хэш-кодами: от них защищают корзины-деревья.
+     *
+     * @param <K> тип ключей
+     * @return стратегия со случайным зерном
+     */
+    static <K> MyOwnHashStrategy<K> randomized() {
+        long seed = ThreadLocalRandom.current().nextLong();
+        return new NaturalStrategy<>() {
+            @Override
+            public int hash(K key) {
+                if (key instanceof String) {
+                    String s = (String) key;
+                    long h = seed ^ s.length();
+                    for (int i = 0; i < s.length(); i++) {
+                        h = (h ^ s.charAt(i)) * 0x9E3779B97F4A7C15L;
+                        h ^= h >>> 29;
+                    }
+                    return fmix32((int) (h ^ (h >>> 32)));
+                }
+                return fmix32(key.hashCode() ^ (int) seed) ^ (int) (seed >>> 32);
+            }
+        };
+    }
+
+    /**
+     * Возвращает стратегию для массивов байтов, сравниваемых по содержимому.
+     *
+     * @return стратегия массивов байтов
+     */
+    static MyOwnHashStrategy<byte[]> byteArrays() {
+        return new MyOwnHashStrategy<>() {
+            @Override
+            public int hash(byte[] key) {
+                return fmix32(Arrays.hashCode(key));
+            }
+
+            @Override
+            public boolean equals(byte[] a, byte[] b) {
+                return Arrays.equals(a, b);
+            }
+        };
+    }
+
+    /**
+     * Финализатор MurmurHash3: обратимое перемешивание всех битов.
+     *
+     * @param h исходное значение
+     * @return перемешанное значение
+     */
+    static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Основа стратегий с равенством {@link Object#equals}.
+     *
+     * @param <K> тип ключей
+     */
+    abstract class NaturalStrategy<K> implements MyOwnHashStrategy<K> {
+        @Override
+        public boolean equals(K a, K b) {
+            return a == b || a.equals(b);
+        }
+
+        @Override
+        public boolean usesNaturalEquality() {
+            return true;
+        }
+    }
+}
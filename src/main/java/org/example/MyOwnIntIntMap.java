@@ -0,0 +1,290 @@
+package org.example;
+
+/**
+ * Хэш-таблица с ключами и значениями типа {@code int} без упаковки.
+ * <p>
+ * Устроена так же, как {@link MyOwnOpenHashMap}: ключи и значения лежат в параллельных
+ * массивах {@code int[]}, используется линейное пробирование и удаление обратным сдвигом.
+ * Пустая ячейка обозначается ключом {@code 0}; значение самого ключа {@code 0} хранится
+ * в отдельном поле. Для отсутствующих ключей возвращается значение "нет элемента",
+ * задаваемое в конструкторе. Методы {@code get}, {@code put} и {@code remove} не создают объектов,
+ * кроме случая роста таблицы.
+ */
+public class MyOwnIntIntMap {
+    private static final int FREE_KEY = 0; // Ключ, обозначающий пустую ячейку
+
+    private int[] keys;
+    private int[] values;
+    private int mask; // Размер таблицы минус один
+    private final float loadFactor;
+    private int threshold;
+    private int size; // Количество элементов, включая ключ FREE_KEY
+    private boolean hasFreeKey; // Присутствует ли ключ FREE_KEY
+    private int freeValue; // Значение ключа FREE_KEY
+    private final int noEntryValue;
+
+    /**
+     * Конструктор, создающий пустую карту с емкостью по умолчанию и значением "нет элемента" {@code 0}.
+     */
+    public MyOwnIntIntMap() {
+        this(MyOwnHashMap.DEFAULT_CAPACITY, MyOwnOpenHashMap.DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    /**
+     * Конструктор, создающий пустую карту, вмещающую указанное число элементов без роста.
+     *
+     * @param capacity ожидаемое количество элементов
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnIntIntMap(int capacity) {
+        this(capacity, MyOwnOpenHashMap.DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    /**
+     * Конструктор, создающий пустую карту с указанными параметрами.
+     *
+     * @param capacity     ожидаемое количество элементов
+     * @param loadFactor   доля заполнения таблицы, при превышении которой она удваивается; от 0 до 1
+     * @param noEntryValue значение, возвращаемое для отсутствующих ключей
+     * @throws IllegalArgumentException если емкость отрицательна или коэффициент загрузки вне (0, 1)
+     */
+    public MyOwnIntIntMap(int capacity, float loadFactor, int noEntryValue) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Недопустимый коэффициент загрузки: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.noEntryValue = noEntryValue;
+        allocate(MyOwnHashMap.tableSizeFor((int) Math.min(Math.ceil(capacity / (double) loadFactor),
+                MyOwnHashMap.MAXIMUM_CAPACITY)));
+    }
+
+    /**
+     * Возвращает значение, к которому отображается ключ, или значение "нет элемента".
+     *
+     * @param key ключ, значение которого нужно вернуть
+     * @return значение ключа или {@link #noEntryValue()}, если ключ отсутствует
+     */
+    public int get(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeValue : noEntryValue;
+        }
+        int[] keys = this.keys;
+        int mask = this.mask;
+        int i = MyOwnOpenHashMap.mix(key) & mask;
+        int current;
+        while ((current = keys[i]) != FREE_KEY) {
+            if (current == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return noEntryValue;
+    }
+
+    /**
+     * Проверяет, содержит ли карта указанный ключ.
+     *
+     * @param key ключ для проверки
+     * @return {@code true}, если ключ присутствует
+     */
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasFreeKey : slotFor(key) >= 0;
+    }
+
+    /**
+     * Ассоциирует указанное значение с указанным ключом.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return предыдущее значение ключа или {@link #noEntryValue()}, если ключа не было
+     */
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            int previous = hasFreeKey ? freeValue : noEntryValue;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeValue = value;
+            return previous;
+        }
+        int i = slotFor(key);
+        if (i >= 0) {
+            int previous = values[i];
+            values[i] = value;
+            return previous;
+        }
+        insert(~i, key, value);
+        return noEntryValue;
+    }
+
+    /**
+     * Прибавляет приращение к значению ключа; отсутствующий ключ считается равным
+     * значению "нет элемента". Удобно для счетчиков: ключ ищется один раз.
+     *
+     * @param key       ключ
+     * @param increment приращение
+     * @return новое значение ключа
+     */
+    public int addTo(int key, int increment) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                freeValue = noEntryValue;
+                size++;
+            }
+            return freeValue += increment;
+        }
+        int i = slotFor(key);
+        if (i >= 0) {
+            return values[i] += increment;
+        }
+        int value = noEntryValue + increment;
+        insert(~i, key, value);
+        return value;
+    }
+
+    /**
+     * Удаляет отображение для ключа, если оно присутствует.
+     *
+     * @param key ключ, отображение которого нужно удалить
+     * @return удаленное значение или {@link #noEntryValue()}, если ключа не было
+     */
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return noEntryValue;
+            }
+            hasFreeKey = false;
+            size--;
+            return freeValue;
+        }
+        int i = slotFor(key);
+        if (i < 0) {
+            return noEntryValue;
+        }
+        int previous = values[i];
+        shiftBack(i);
+        size--;
+        return previous;
+    }
+
+    /**
+     * Возвращает количество пар "ключ-значение" в этой карте.
+     *
+     * @return количество пар "ключ-значение" в этой карте
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает {@code true}, если эта карта не содержит пар "ключ-значение".
+     *
+     * @return {@code true}, если эта карта пуста; {@code false} в противном случае
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает значение, которое возвращается для отсутствующих ключей.
+     *
+     * @return значение "нет элемента"
+     */
+    public int noEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Ищет ячейку с указанным ключом, отличным от {@link #FREE_KEY}.
+     *
+     * @return индекс ячейки с ключом или {@code ~index} первой пустой ячейки на пути пробирования
+     */
+    private int slotFor(int key) {
+        int[] keys = this.keys;
+        int mask = this.mask;
+        int i = MyOwnOpenHashMap.mix(key) & mask;
+        int current;
+        while ((current = keys[i]) != FREE_KEY) {
+            if (current == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return ~i;
+    }
+
+    /**
+     * Записывает новый ключ в найденную пустую ячейку, при необходимости увеличив таблицу.
+     */
+    private void insert(int i, int key, int value) {
+        if (size - (hasFreeKey ? 1 : 0) >= threshold) {
+            rehash((mask + 1) << 1);
+            i = ~slotFor(key);
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * Освобождает ячейку, сдвигая назад элементы того же кластера.
+     *
+     * @param gap индекс освобождаемой ячейки
+     */
+    private void shiftBack(int gap) {
+        int[] keys = this.keys;
+        int[] values = this.values;
+        int mask = this.mask;
+        int i = gap;
+        int current;
+        while ((current = keys[i = (i + 1) & mask]) != FREE_KEY) {
+            int ideal = MyOwnOpenHashMap.mix(current) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = current;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE_KEY;
+    }
+
+    /**
+     * Создает пустые массивы указанного размера.
+     */
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        values = new int[tableSize];
+        mask = tableSize - 1;
+        threshold = Math.min((int) (tableSize * (double) loadFactor), tableSize - 1);
+    }
+
+    /**
+     * Перестраивает таблицу под новый размер.
+     */
+    private void rehash(int newSize) {
+        if (mask + 1 >= MyOwnHashMap.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Таблица переполнена: " + size);
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newSize);
+        int[] keys = this.keys;
+        int mask = this.mask;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != FREE_KEY) {
+                int i = MyOwnOpenHashMap.mix(key) & mask;
+                while (keys[i] != FREE_KEY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
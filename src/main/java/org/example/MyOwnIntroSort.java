@@ -0,0 +1,138 @@
+package org.example;
+
+import java.util.Comparator;
+
+/**
+ * Неустойчивая сортировка на месте IntroSort над диапазоном массива.
+ * <p>
+ * Основа - быстрая сортировка с разбиением Хоара и опорным элементом - медианой первого,
+ * среднего и последнего элементов, поэтому упорядоченные и обратные данные разбиваются пополам.
+ * Сканирование останавливается на равных опорному, так что множество повторов тоже дает
+ * сбалансированные части. Рекурсия идет в меньшую часть, а большая обрабатывается в цикле,
+ * поэтому глубина стека не превышает log2(n). Если глубина разбиений все же превышает
+ * 2 * log2(n), диапазон досортировывается пирамидальной сортировкой, что ограничивает худший
+ * случай O(n log n). Короткие диапазоны сортируются вставками.
+ */
+final class MyOwnIntroSort {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private MyOwnIntroSort() {
+    }
+
+    /**
+     * Сортирует диапазон {@code [lo, hi)} массива.
+     *
+     * @param a  массив
+     * @param lo начало диапазона включительно
+     * @param hi конец диапазона не включительно
+     * @param c  компаратор
+     * @param <T> тип элементов
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(Object[] a, int lo, int hi, Comparator<? super T> c) {
+        int length = hi - lo;
+        if (length < 2) {
+            return;
+        }
+        introSort(a, lo, hi, 2 * (31 - Integer.numberOfLeadingZeros(length)), (Comparator<Object>) c);
+    }
+
+    private static void introSort(Object[] a, int lo, int hi, int depthLimit, Comparator<Object> c) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(a, lo, hi, c);
+                return;
+            }
+            int split = partition(a, lo, hi, c);
+            if (split - lo < hi - split) {
+                introSort(a, lo, split, depthLimit, c);
+                lo = split;
+            } else {
+                introSort(a, split, hi, depthLimit, c);
+                hi = split;
+            }
+        }
+        insertionSort(a, lo, hi, c);
+    }
+
+    /**
+     * Разбивает диапазон так, что элементы {@code [lo, split)} не больше элементов
+     * {@code [split, hi)}, и возвращает {@code split}. Обе части непусты.
+     */
+    private static int partition(Object[] a, int lo, int hi, Comparator<Object> c) {
+        int mid = (lo + hi) >>> 1;
+        // Упорядочиваем три образца: крайние служат ограничителями сканирования
+        if (c.compare(a[mid], a[lo]) < 0) {
+            swap(a, lo, mid);
+        }
+        if (c.compare(a[hi - 1], a[mid]) < 0) {
+            swap(a, mid, hi - 1);
+            if (c.compare(a[mid], a[lo]) < 0) {
+                swap(a, lo, mid);
+            }
+        }
+        Object pivot = a[mid];
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            do {
+                i++;
+            } while (c.compare(a[i], pivot) < 0);
+            do {
+                j--;
+            } while (c.compare(a[j], pivot) > 0);
+            if (i >= j) {
+                return j + 1;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    private static void insertionSort(Object[] a, int lo, int hi, Comparator<Object> c) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object element = a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare(element, a[j]) < 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = element;
+        }
+    }
+
+    private static void heapSort(Object[] a, int lo, int hi, Comparator<Object> c) {
+        int n = hi - lo;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n, c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end, c);
+        }
+    }
+
+    /**
+     * Просеивает элемент {@code i} вниз в куче из {@code n} элементов, начинающейся с {@code base}.
+     */
+    private static void siftDown(Object[] a, int base, int i, int n, Comparator<Object> c) {
+        Object element = a[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && c.compare(a[base + child + 1], a[base + child]) > 0) {
+                child++;
+            }
+            if (c.compare(a[base + child], element) <= 0) {
+                break;
+            }
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = element;
+    }
+
+    private static void swap(Object[] a, int i, int j) {
+        Object t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
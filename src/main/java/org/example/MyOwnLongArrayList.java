@@ -0,0 +1,231 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Список значений типа {@code long} без упаковки.
+ * <p>
+ * Повторяет API {@link MyOwnArrayList}, но хранит элементы в массиве {@code long[]}: элемент
+ * занимает 8 байт вместо ссылки и объекта {@link Long}, а {@link #get(int)} читает значение
+ * без перехода по ссылке. Сортировка, двоичный поиск и агрегаты {@link #sum()}, {@link #min()} и
+ * {@link #max()} работают прямо по внутреннему массиву; циклы агрегатов простые и без ветвлений,
+ * чтобы JIT-компилятор мог векторизовать их.
+ */
+public class MyOwnLongArrayList {
+    private static final int DEFAULT_CAPACITY = 10; // Начальная емкость списка по умолчанию
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // Наибольший размер массива в JVM
+
+    private long[] array; // Внутренний массив для хранения элементов
+    private int size; // Текущее количество элементов в списке
+
+    /**
+     * Создает новый пустой список с емкостью по умолчанию.
+     */
+    public MyOwnLongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает новый пустой список, вмещающий указанное число элементов без роста.
+     *
+     * @param capacity начальная емкость
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnLongArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        this.array = new long[capacity];
+    }
+
+    /**
+     * Добавляет элемент в конец списка.
+     *
+     * @param element элемент, который нужно добавить в список
+     */
+    public void add(long element) {
+        if (size == array.length) {
+            increaseCapacity();
+        }
+        array[size++] = element;
+    }
+
+    /**
+     * Добавляет элемент по указанному индексу в список.
+     *
+     * @param index   индекс, по которому нужно добавить элемент
+     * @param element элемент, который нужно добавить в список
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void add(int index, long element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        if (size == array.length) {
+            increaseCapacity();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно получить
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        return array[index];
+    }
+
+    /**
+     * Заменяет элемент в списке по указанному индексу новым элементом.
+     *
+     * @param index   индекс элемента, который нужно заменить
+     * @param element новый элемент для замены
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void set(int index, long element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        array[index] = element;
+    }
+
+    /**
+     * Удаляет элемент по указанному индексу.
+     *
+     * @param index индекс элемента, который нужно удалить
+     * @throws IndexOutOfBoundsException если индекс находится вне допустимого диапазона
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс: " + index + ", Размер: " + size);
+        }
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Очищает список, удаляя все элементы. Емкость сохраняется.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает текущее количество элементов в списке.
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуст ли список.
+     *
+     * @return true, если список пуст, иначе false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает копию элементов списка в виде массива.
+     *
+     * @return массив элементов
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Сортирует элементы в порядке возрастания на месте.
+     */
+    public void sort() {
+        Arrays.sort(array, 0, size);
+    }
+
+    /**
+     * Ищет элемент двоичным поиском. Список должен быть отсортирован по возрастанию,
+     * например методом {@link #sort()}.
+     *
+     * @param key искомое значение
+     * @return индекс элемента, если он найден, иначе {@code -(точка вставки) - 1}
+     */
+    public int binarySearch(long key) {
+        return Arrays.binarySearch(array, 0, size, key);
+    }
+
+    /**
+     * Возвращает сумму элементов. При переполнении сумма
+     * переходит через границу {@code long}, как обычное сложение.
+     *
+     * @return сумма элементов или {@code 0} для пустого списка
+     */
+    public long sum() {
+        long[] array = this.array;
+        int size = this.size;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Возвращает наименьший элемент.
+     *
+     * @return наименьший элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    public long min() {
+        long[] array = this.array;
+        int size = this.size;
+        if (size == 0) {
+            throw new NoSuchElementException("Список пуст");
+        }
+        long min = array[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Возвращает наибольший элемент.
+     *
+     * @return наибольший элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    public long max() {
+        long[] array = this.array;
+        int size = this.size;
+        if (size == 0) {
+            throw new NoSuchElementException("Список пуст");
+        }
+        long max = array[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Увеличивает ёмкость массива вдвое, но не больше наибольшего размера массива.
+     */
+    private void increaseCapacity() {
+        if (size == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Превышен наибольший размер списка");
+        }
+        int newCapacity = (int) Math.min(Math.max(array.length * 2L, DEFAULT_CAPACITY), MAX_CAPACITY);
+        array = Arrays.copyOf(array, newCapacity);
+    }
+}
@@ -0,0 +1,260 @@
+package org.example;
+
+/**
+ * Хэш-таблица с ключами типа {@code long} без упаковки и объектными значениями.
+ * <p>
+ * Устроена так же, как {@link MyOwnOpenHashMap}: ключи лежат в массиве {@code long[]},
+ * значения - в параллельном массиве объектов, используется линейное пробирование и удаление
+ * обратным сдвигом. Пустая ячейка обозначается ключом {@code 0}; значение самого ключа {@code 0}
+ * хранится в отдельном поле. Методы {@code get}, {@code put} и {@code remove} не создают объектов,
+ * кроме случая роста таблицы.
+ *
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public class MyOwnLongObjectMap<V> {
+    private static final long FREE_KEY = 0L; // Ключ, обозначающий пустую ячейку
+
+    private long[] keys;
+    private Object[] values;
+    private int mask; // Размер таблицы минус один
+    private final float loadFactor;
+    private int threshold;
+    private int size; // Количество элементов, включая ключ FREE_KEY
+    private boolean hasFreeKey; // Присутствует ли ключ FREE_KEY
+    private V freeValue; // Значение ключа FREE_KEY
+
+    /**
+     * Конструктор, создающий пустую карту с емкостью по умолчанию.
+     */
+    public MyOwnLongObjectMap() {
+        this(MyOwnHashMap.DEFAULT_CAPACITY, MyOwnOpenHashMap.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Конструктор, создающий пустую карту, вмещающую указанное число элементов без роста.
+     *
+     * @param capacity ожидаемое количество элементов
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnLongObjectMap(int capacity) {
+        this(capacity, MyOwnOpenHashMap.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Конструктор, создающий пустую карту с указанной емкостью и коэффициентом загрузки.
+     *
+     * @param capacity   ожидаемое количество элементов
+     * @param loadFactor доля заполнения таблицы, при превышении которой она удваивается; от 0 до 1
+     * @throws IllegalArgumentException если емкость отрицательна или коэффициент загрузки вне (0, 1)
+     */
+    public MyOwnLongObjectMap(int capacity, float loadFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Недопустимый коэффициент загрузки: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(MyOwnHashMap.tableSizeFor((int) Math.min(Math.ceil(capacity / (double) loadFactor),
+                MyOwnHashMap.MAXIMUM_CAPACITY)));
+    }
+
+    /**
+     * Вычисляет хэш ключа, сворачивая старшую половину в младшую.
+     */
+    private static int hash(long key) {
+        return MyOwnOpenHashMap.mix((int) (key ^ (key >>> 32)));
+    }
+
+    /**
+     * Возвращает значение, к которому отображается ключ, или {@code null}.
+     *
+     * @param key ключ, значение которого нужно вернуть
+     * @return значение ключа или {@code null}, если ключ отсутствует
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE_KEY) {
+            return freeValue;
+        }
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int i = hash(key) & mask;
+        long current;
+        while ((current = keys[i]) != FREE_KEY) {
+            if (current == key) {
+                return (V) values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Проверяет, содержит ли карта указанный ключ.
+     *
+     * @param key ключ для проверки
+     * @return {@code true}, если ключ присутствует
+     */
+    public boolean containsKey(long key) {
+        return key == FREE_KEY ? hasFreeKey : slotFor(key) >= 0;
+    }
+
+    /**
+     * Ассоциирует указанное значение с указанным ключом.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return предыдущее значение ключа или {@code null}, если ключа не было
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == FREE_KEY) {
+            V previous = freeValue;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeValue = value;
+            return previous;
+        }
+        int i = slotFor(key);
+        if (i >= 0) {
+            V previous = (V) values[i];
+            values[i] = value;
+            return previous;
+        }
+        i = ~i;
+        if (size - (hasFreeKey ? 1 : 0) >= threshold) {
+            rehash((mask + 1) << 1);
+            i = ~slotFor(key);
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Удаляет отображение для ключа, если оно присутствует.
+     *
+     * @param key ключ, отображение которого нужно удалить
+     * @return удаленное значение или {@code null}, если ключа не было
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return null;
+            }
+            V previous = freeValue;
+            hasFreeKey = false;
+            freeValue = null;
+            size--;
+            return previous;
+        }
+        int i = slotFor(key);
+        if (i < 0) {
+            return null;
+        }
+        V previous = (V) values[i];
+        shiftBack(i);
+        size--;
+        return previous;
+    }
+
+    /**
+     * Возвращает количество пар "ключ-значение" в этой карте.
+     *
+     * @return количество пар "ключ-значение" в этой карте
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает {@code true}, если эта карта не содержит пар "ключ-значение".
+     *
+     * @return {@code true}, если эта карта пуста; {@code false} в противном случае
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ищет ячейку с указанным ключом, отличным от {@link #FREE_KEY}.
+     *
+     * @return индекс ячейки с ключом или {@code ~index} первой пустой ячейки на пути пробирования
+     */
+    private int slotFor(long key) {
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int i = hash(key) & mask;
+        long current;
+        while ((current = keys[i]) != FREE_KEY) {
+            if (current == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return ~i;
+    }
+
+    /**
+     * Освобождает ячейку, сдвигая назад элементы того же кластера.
+     *
+     * @param gap индекс освобождаемой ячейки
+     */
+    private void shiftBack(int gap) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = this.mask;
+        int i = gap;
+        long current;
+        while ((current = keys[i = (i + 1) & mask]) != FREE_KEY) {
+            int ideal = hash(current) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = current;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE_KEY;
+        values[gap] = null;
+    }
+
+    /**
+     * Создает пустые массивы указанного размера.
+     */
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        threshold = Math.min((int) (tableSize * (double) loadFactor), tableSize - 1);
+    }
+
+    /**
+     * Перестраивает таблицу под новый размер.
+     */
+    private void rehash(int newSize) {
+        if (mask + 1 >= MyOwnHashMap.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Таблица переполнена: " + size);
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newSize);
+        long[] keys = this.keys;
+        int mask = this.mask;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != FREE_KEY) {
+                int i = hash(key) & mask;
+                while (keys[i] != FREE_KEY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
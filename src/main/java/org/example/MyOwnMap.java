@@ -0,0 +1,94 @@
+package org.example;
+
+/**
+ * Общий интерфейс хэш-карт проекта.
+ * Позволяет выбирать внутреннее устройство таблицы, не меняя вызывающий код.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public interface MyOwnMap<K, V> {
+
+    /**
+     * Способ хранения элементов в таблице.
+     */
+    enum Backend {
+        /**
+         * Отдельные цепочки в корзинах, см. {@link MyOwnHashMap}.
+         */
+        CHAINED,
+        /**
+         * Открытая адресация над плоскими массивами ключей и значений, см. {@link MyOwnOpenHashMap}.
+         */
+        OPEN_ADDRESSING,
+        /**
+         * Открытая адресация по группам с отпечатками хэшей, см. {@link MyOwnSwissHashMap}.
+         */
+        SWISS
+    }
+
+    /**
+     * Создает пустую карту с указанным способом хранения и начальной емкостью.
+     *
+     * @param backend  способ хранения элементов
+     * @param capacity начальная емкость карты
+     * @param <K>      тип ключей
+     * @param <V>      тип значений
+     * @return новая пустая карта
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    static <K, V> MyOwnMap<K, V> create(Backend backend, int capacity) {
+        switch (backend) {
+            case CHAINED:
+                return new MyOwnHashMap<>(capacity);
+            case OPEN_ADDRESSING:
+                return new MyOwnOpenHashMap<>(capacity);
+            case SWISS:
+                return new MyOwnSwissHashMap<>(capacity);
+            default:
+                throw new IllegalArgumentException("Неизвестный способ хранения: " + backend);
+        }
+    }
+
+    /**
+     * Ассоциирует указанное значение с указанным ключом в этой карте.
+     * Если карта уже содержит отображение для данного ключа, старое значение будет заменено.
+     *
+     * @param key   ключ, с которым требуется ассоциировать указанное значение
+     * @param value значение, которое следует ассоциировать с указанным ключом
+     * @return предыдущее значение ключа или {@code null}, если отображения не было
+     */
+    V put(K key, V value);
+
+    /**
+     * Возвращает значение, к которому данный ключ отображается,
+     * или {@code null}, если эта карта не содержит отображения для данного ключа.
+     *
+     * @param key ключ, значение которого нужно вернуть
+     * @return значение, к которому данный ключ отображается, или null, если отображение отсутствует
+     */
+    V get(K key);
+
+    /**
+     * Удаляет отображение для ключа из этой карты, если оно присутствует.
+     *
+     * @param key ключ, отображение которого нужно удалить из карты
+     */
+    void remove(K key);
+
+    /**
+     * Возвращает количество пар "ключ-значение" в этой карте.
+     *
+     * @return количество пар "ключ-значение" в этой карте
+     */
+    int size();
+
+    /**
+     * Возвращает {@code true}, если эта карта не содержит пар "ключ-значение".
+     *
+     * @return {@code true}, если эта карта пуста; {@code false} в противном случае
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,694 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Хэш-таблица, хранящая ключи и значения в сериализованном виде вне кучи Java.
+ * <p>
+ * Вся таблица занимает один {@link MemorySegment} заданного размера в байтах, выделенный
+ * в собственной {@link Arena}. Сборщик мусора не просматривает эти данные, а память
+ * освобождается явно методом {@link #close()}. Сегмент разбит на три области:
+ * <ul>
+ *     <li>заголовок фиксированного размера;</li>
+ *     <li>индекс: таблица с открытой адресацией, каждая ячейка которой хранит смещение записи
+ *     и хэш ключа;</li>
+ *     <li>область данных, в конец которой дописываются записи
+ *     {@code [хэш][длина ключа][длина значения][признак][контроль значения][резерв][ключ][значение]}.</li>
+ * </ul>
+ * Ключи сравниваются и хэшируются по их байтовому представлению, поэтому {@code equals} и
+ * {@code hashCode} ключей не используются. Удаленные и замененные записи остаются в области
+ * данных до уплотнения, которое выполняется, когда новая запись не помещается в конец области.
+ * Таблица не растет: если после уплотнения места нет или индекс заполнен, выбрасывается
+ * {@link IllegalStateException}.
+ * <p>
+ * Метод {@link #open} размещает ту же структуру в файле, отображенном в память. Изменения
+ * пишутся прямо в отображение, а открытие существующего файла не читает его целиком:
+ * страницы подгружаются операционной системой по мере обращения. Заголовок содержит два блока
+ * состояния с номером поколения и контрольной суммой; они записываются поочередно, и при открытии
+ * выбирается целый блок с наибольшим поколением. Перед первым изменением после фиксации в заголовок
+ * записывается признак "грязного" состояния. Если файл открыт в "чистом" состоянии, индекс
+ * используется как есть. Иначе индекс восстанавливается просмотром журнала записей: принимаются
+ * только записи, чьи ключ и значение совпадают со своими контрольными суммами, а из нескольких
+ * записей одного ключа побеждает последняя; поэтому замененная запись в файле не помечается
+ * удаленной, и сбой до записи новой записи на диск оставляет прежнее значение. Фиксацию выполняют {@link #flush()} и {@link #close()};
+ * изменения после последней фиксации восстанавливаются по возможности. Уплотнение в файловом режиме
+ * сразу фиксируется; сбой во время самого уплотнения может привести к потере записей,
+ * расположенных после места сбоя.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public class MyOwnOffHeapMap<K, V> implements MyOwnMap<K, V>, AutoCloseable {
+    static final long MAGIC = 0x4D794F776E4D6170L; // "MyOwnMap"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 128;
+    static final int SLOT_SIZE = 16; // [смещение записи: long][хэш: int][резерв: int]
+    static final int RECORD_HEADER_SIZE = 24; // [хэш][длина ключа][длина значения][признак][контроль][резерв]
+    static final int LIVE = 1; // Признак действующей записи
+    static final int DEAD = 2; // Признак удаленной записи; 0 означает, что записи нет
+    static final float MAX_LOAD = 0.75f; // Наибольшая допустимая загрузка индекса
+    private static final int INDEX_SHARE = 4; // Индексу отводится четверть памяти
+    private static final int MIN_SLOTS = 8;
+
+    // Неизменяемая часть заголовка
+    static final long MAGIC_OFFSET = 0;
+    static final long VERSION_OFFSET = 8;
+    static final long SLOT_COUNT_OFFSET = 12;
+    static final long CAPACITY_OFFSET = 16;
+    static final int FIXED_HEADER_SIZE = 32;
+    // Два блока состояния: [поколение][размер][конец данных][мусор][чистое: int][резерв: int][контрольная сумма]
+    static final long STATE_OFFSET = FIXED_HEADER_SIZE;
+    static final int STATE_SIZE = 48;
+    static final int STATE_CHECKSUM_OFFSET = 40;
+
+    private final Arena arena;
+    private final FileChannel channel; // Файл отображения или null, если карта только в памяти
+    final MemorySegment memory;
+    private final MyOwnCodec<K> keyCodec;
+    private final MyOwnCodec<V> valueCodec;
+    final int slotCount;
+    private final int mask;
+    final long dataStart; // Смещение начала области данных
+    private final int maxEntries;
+    int size;
+    long dataEnd; // Смещение конца записанных данных
+    long garbage; // Байты удаленных записей
+    private long generation; // Поколение последнего записанного блока состояния
+    private boolean clean = true; // Совпадает ли файл с последним зафиксированным состоянием
+    private byte[] scratch = new byte[64]; // Буфер для сериализации ключа при поиске
+    private MemorySegment scratchSegment = MemorySegment.ofArray(scratch);
+
+    /**
+     * Конструктор, создающий пустую карту указанного размера в байтах.
+     * Четверть памяти отводится под индекс, остальное - под данные.
+     *
+     * @param capacityBytes общий размер памяти карты в байтах
+     * @param keyCodec      кодек ключей
+     * @param valueCodec    кодек значений
+     * @throws IllegalArgumentException если размер слишком мал для заголовка, индекса и данных
+     */
+    public MyOwnOffHeapMap(long capacityBytes, MyOwnCodec<K> keyCodec, MyOwnCodec<V> valueCodec) {
+        this(capacityBytes, slotsFor(capacityBytes), keyCodec, valueCodec, Arena.ofShared());
+    }
+
+    /**
+     * Конструктор, создающий пустую карту указанного размера в байтах с индексом,
+     * рассчитанным на указанное количество элементов.
+     *
+     * @param capacityBytes   общий размер памяти карты в байтах
+     * @param expectedEntries наибольшее ожидаемое количество элементов
+     * @param keyCodec        кодек ключей
+     * @param valueCodec      кодек значений
+     * @throws IllegalArgumentException если размер слишком мал для заголовка, индекса и данных
+     */
+    public MyOwnOffHeapMap(long capacityBytes, int expectedEntries, MyOwnCodec<K> keyCodec,
+                           MyOwnCodec<V> valueCodec) {
+        this(capacityBytes, slotsForEntries(expectedEntries), keyCodec, valueCodec, Arena.ofShared());
+    }
+
+    private MyOwnOffHeapMap(long capacityBytes, int slotCount, MyOwnCodec<K> keyCodec, MyOwnCodec<V> valueCodec,
+                            Arena arena) {
+        this(arena, null, arena.allocate(checkCapacity(capacityBytes, slotCount), Long.BYTES), slotCount,
+                keyCodec, valueCodec);
+        writeFixedHeader();
+    }
+
+    /**
+     * Создает карту над уже выделенной или отображенной памятью. Заголовок и индекс не изменяются.
+     */
+    private MyOwnOffHeapMap(Arena arena, FileChannel channel, MemorySegment memory, int slotCount,
+                            MyOwnCodec<K> keyCodec, MyOwnCodec<V> valueCodec) {
+        this.arena = arena;
+        this.channel = channel;
+        this.memory = memory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.slotCount = slotCount;
+        this.mask = slotCount - 1;
+        this.dataStart = HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+        this.dataEnd = dataStart;
+        this.maxEntries = (int) (slotCount * MAX_LOAD);
+    }
+
+    /**
+     * Проверяет, что в памяти помещаются заголовок, индекс и хотя бы одна запись.
+     *
+     * @return размер памяти
+     */
+    static long checkCapacity(long capacityBytes, int slotCount) {
+        if (capacityBytes < HEADER_SIZE + (long) slotCount * SLOT_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Недостаточный размер памяти: " + capacityBytes);
+        }
+        return capacityBytes;
+    }
+
+    /**
+     * Вычисляет количество ячеек индекса для указанного количества элементов.
+     */
+    static int slotsForEntries(int expectedEntries) {
+        if (expectedEntries < 0) {
+            throw new IllegalArgumentException("Недопустимое количество элементов: " + expectedEntries);
+        }
+        return MyOwnHashMap.tableSizeFor(Math.max(MIN_SLOTS,
+                (int) Math.min(Math.ceil(expectedEntries / (double) MAX_LOAD), MyOwnHashMap.MAXIMUM_CAPACITY)));
+    }
+
+    /**
+     * Вычисляет количество ячеек индекса, занимающих около четверти памяти.
+     */
+    static int slotsFor(long capacityBytes) {
+        long slots = Math.max(MIN_SLOTS, capacityBytes / INDEX_SHARE / SLOT_SIZE);
+        return Integer.highestOneBit((int) Math.min(slots, MyOwnHashMap.MAXIMUM_CAPACITY));
+    }
+
+    /**
+     * Открывает карту, хранящуюся в файле, отображенном в память, или создает новый файл.
+     * Открытие файла, закрытого через {@link #close()} или зафиксированного через {@link #flush()},
+     * не зависит от количества элементов; после сбоя индекс восстанавливается из журнала записей.
+     *
+     * @param file          путь к файлу
+     * @param capacityBytes размер нового файла в байтах; для существующего файла не используется
+     * @param keyCodec      кодек ключей; должен совпадать с кодеком, которым файл был записан
+     * @param valueCodec    кодек значений; должен совпадать с кодеком, которым файл был записан
+     * @param <K>           тип ключей
+     * @param <V>           тип значений
+     * @return открытая карта
+     * @throws IOException              если файл недоступен, не является картой или его заголовок поврежден
+     * @throws IllegalArgumentException если размер нового файла слишком мал
+     */
+    public static <K, V> MyOwnOffHeapMap<K, V> open(Path file, long capacityBytes, MyOwnCodec<K> keyCodec,
+                                                    MyOwnCodec<V> valueCodec) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        Arena arena = Arena.ofShared();
+        try {
+            boolean created = channel.size() == 0;
+            int slotCount = 0;
+            if (created) {
+                slotCount = slotsFor(capacityBytes);
+                checkCapacity(capacityBytes, slotCount);
+                channel.write(ByteBuffer.allocate(1), capacityBytes - 1); // Файл заполняется нулями
+            } else if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Файл не является картой: " + file);
+            }
+            MemorySegment memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size(), arena);
+            if (!created) {
+                if (memory.get(MyOwnCodec.LONG, MAGIC_OFFSET) != MAGIC
+                        || memory.get(MyOwnCodec.INT, VERSION_OFFSET) != VERSION
+                        || memory.get(MyOwnCodec.LONG, CAPACITY_OFFSET) != memory.byteSize()) {
+                    throw new IOException("Файл не является картой или имеет другую версию: " + file);
+                }
+                slotCount = memory.get(MyOwnCodec.INT, SLOT_COUNT_OFFSET);
+                if (slotCount < MIN_SLOTS || Integer.bitCount(slotCount) != 1) {
+                    throw new IOException("Поврежден заголовок карты: " + file);
+                }
+                checkCapacity(memory.byteSize(), slotCount);
+            }
+            MyOwnOffHeapMap<K, V> map = new MyOwnOffHeapMap<>(arena, channel, memory, slotCount, keyCodec, valueCodec);
+            if (created) {
+                map.writeFixedHeader();
+                map.flush();
+            } else {
+                map.restore(file);
+            }
+            return map;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Вычисляет хэш байтового представления: слова по 8 байтов перемешиваются умножением,
+     * хвост добавляется побайтно. Результат не зависит от процесса и платформы.
+     *
+     * @param segment сегмент с данными
+     * @param offset  смещение начала
+     * @param length  длина в байтах
+     * @return хэш
+     */
+    static int hashBytes(MemorySegment segment, long offset, int length) {
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        long i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            h = (h ^ segment.get(MyOwnCodec.LONG, offset + i)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        for (; i < length; i++) {
+            h = (h ^ (segment.get(ValueLayout.JAVA_BYTE, offset + i) & 0xFF)) * 0x94D049BB133111EBL;
+        }
+        h ^= h >>> 29;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Предыдущее значение декодируется из памяти только при его наличии.
+     *
+     * @throws IllegalStateException если для записи не осталось памяти или индекс заполнен
+     */
+    @Override
+    public V put(K key, V value) {
+        int keyLength = encodeKey(key);
+        int hash = hashBytes(scratchSegment, 0, keyLength);
+        int valueLength = valueCodec.size(value);
+        int slot = findSlot(hash, keyLength, scratchSegment, 0);
+        beginWrite();
+        V previous = null;
+        if (slot >= 0) {
+            long record = recordAt(slot);
+            int previousLength = memory.get(MyOwnCodec.INT, record + 8);
+            previous = valueCodec.read(memory, record + RECORD_HEADER_SIZE + keyLength, previousLength);
+            if (previousLength == valueLength && channel == null) {
+                // В памяти значение той же длины перезаписывается на месте. В файле зафиксированная
+                // запись не меняется: сбой посреди перезаписи испортил бы ее контрольную сумму
+                valueCodec.write(memory, record + RECORD_HEADER_SIZE + keyLength, value);
+                writeValueCheck(record, keyLength, valueLength);
+                return previous;
+            }
+        } else if (size >= maxEntries) {
+            throw new IllegalStateException("Индекс заполнен: " + size);
+        }
+
+        long length = recordLength(keyLength, valueLength);
+        if (dataEnd + length > memory.byteSize()) {
+            if (garbage > 0) {
+                compact();
+                if (channel != null) {
+                    flush();
+                    beginWrite();
+                }
+            }
+            if (dataEnd + length > memory.byteSize()) {
+                throw new IllegalStateException("Недостаточно памяти для записи длиной " + length);
+            }
+            if (slot >= 0) {
+                slot = findSlot(hash, keyLength, scratchSegment, 0); // Уплотнение переместило записи
+            }
+        }
+        long record = dataEnd;
+        memory.set(MyOwnCodec.INT, record, hash);
+        memory.set(MyOwnCodec.INT, record + 4, keyLength);
+        memory.set(MyOwnCodec.INT, record + 8, valueLength);
+        MemorySegment.copy(scratchSegment, 0, memory, record + RECORD_HEADER_SIZE, keyLength);
+        valueCodec.write(memory, record + RECORD_HEADER_SIZE + keyLength, value);
+        writeValueCheck(record, keyLength, valueLength);
+        memory.set(MyOwnCodec.INT, record + 12, LIVE);
+        dataEnd = record + length;
+
+        if (slot >= 0) {
+            supersede(recordAt(slot));
+            setSlot(slot, record, hash);
+        } else {
+            setSlot(~slot, record, hash);
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        int keyLength = encodeKey(key);
+        int slot = findSlot(hashBytes(scratchSegment, 0, keyLength), keyLength, scratchSegment, 0);
+        if (slot < 0) {
+            return null;
+        }
+        long record = recordAt(slot);
+        int valueLength = memory.get(MyOwnCodec.INT, record + 8);
+        return valueCodec.read(memory, record + RECORD_HEADER_SIZE + keyLength, valueLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(K key) {
+        int keyLength = encodeKey(key);
+        int slot = findSlot(hashBytes(scratchSegment, 0, keyLength), keyLength, scratchSegment, 0);
+        if (slot >= 0) {
+            beginWrite();
+            kill(recordAt(slot));
+            shiftBack(slot);
+            size--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает общий размер памяти карты в байтах.
+     *
+     * @return размер памяти в байтах
+     */
+    public long capacityBytes() {
+        return memory.byteSize();
+    }
+
+    /**
+     * Фиксирует состояние файловой карты: сбрасывает измененные страницы на диск и записывает
+     * "чистый" блок состояния. Для карты только в памяти ничего не делает.
+     *
+     * @throws UncheckedIOException если данные не удалось записать
+     */
+    public void flush() {
+        if (channel == null) {
+            return;
+        }
+        memory.force();
+        writeState(true);
+        memory.asSlice(0, HEADER_SIZE).force();
+        clean = true;
+    }
+
+    /**
+     * Освобождает память карты; файловая карта перед этим фиксируется, а файл закрывается.
+     * После закрытия любые операции с картой завершаются исключением.
+     *
+     * @throws UncheckedIOException если данные не удалось записать или файл не удалось закрыть
+     */
+    @Override
+    public void close() {
+        if (channel == null) {
+            arena.close();
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            arena.close();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Записывает неизменяемую часть заголовка.
+     */
+    private void writeFixedHeader() {
+        memory.set(MyOwnCodec.LONG, MAGIC_OFFSET, MAGIC);
+        memory.set(MyOwnCodec.INT, VERSION_OFFSET, VERSION);
+        memory.set(MyOwnCodec.INT, SLOT_COUNT_OFFSET, slotCount);
+        memory.set(MyOwnCodec.LONG, CAPACITY_OFFSET, memory.byteSize());
+    }
+
+    /**
+     * Перед первым изменением после фиксации записывает на диск "грязный" блок состояния,
+     * чтобы после сбоя файл не был принят за согласованный.
+     */
+    private void beginWrite() {
+        if (clean && channel != null) {
+            clean = false;
+            writeState(false);
+            memory.asSlice(0, HEADER_SIZE).force();
+        }
+    }
+
+    /**
+     * Записывает блок состояния следующего поколения поверх более старого из двух блоков.
+     */
+    private void writeState(boolean isClean) {
+        generation++;
+        long block = STATE_OFFSET + (generation & 1) * STATE_SIZE;
+        memory.set(MyOwnCodec.LONG, block, generation);
+        memory.set(MyOwnCodec.LONG, block + 8, size);
+        memory.set(MyOwnCodec.LONG, block + 16, dataEnd);
+        memory.set(MyOwnCodec.LONG, block + 24, garbage);
+        memory.set(MyOwnCodec.INT, block + 32, isClean ? 1 : 0);
+        memory.set(MyOwnCodec.INT, block + 36, 0);
+        memory.set(MyOwnCodec.LONG, block + STATE_CHECKSUM_OFFSET, stateChecksum(block));
+    }
+
+    /**
+     * Вычисляет контрольную сумму неизменяемой части заголовка и блока состояния.
+     */
+    private long stateChecksum(long block) {
+        return ((long) hashBytes(memory, 0, FIXED_HEADER_SIZE) << 32)
+                ^ (hashBytes(memory, block, STATE_CHECKSUM_OFFSET) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Загружает состояние существующего файла: выбирает целый блок состояния с наибольшим
+     * поколением и, если он "грязный", восстанавливает индекс из журнала записей.
+     */
+    private void restore(Path file) throws IOException {
+        long best = -1;
+        for (int i = 0; i < 2; i++) {
+            long block = STATE_OFFSET + (long) i * STATE_SIZE;
+            long blockGeneration = memory.get(MyOwnCodec.LONG, block);
+            if (memory.get(MyOwnCodec.LONG, block + STATE_CHECKSUM_OFFSET) == stateChecksum(block)
+                    && (best < 0 || blockGeneration > generation)) {
+                best = block;
+                generation = blockGeneration;
+            }
+        }
+        if (best < 0) {
+            throw new IOException("Поврежден заголовок карты: " + file);
+        }
+        long storedSize = memory.get(MyOwnCodec.LONG, best + 8);
+        long storedEnd = memory.get(MyOwnCodec.LONG, best + 16);
+        if (memory.get(MyOwnCodec.INT, best + 32) == 1 && storedSize >= 0 && storedSize <= maxEntries
+                && storedEnd >= dataStart && storedEnd <= memory.byteSize()) {
+            size = (int) storedSize;
+            dataEnd = storedEnd;
+            garbage = memory.get(MyOwnCodec.LONG, best + 24);
+            clean = true;
+            return;
+        }
+        clean = false;
+        recover(file);
+        flush();
+    }
+
+    /**
+     * Восстанавливает индекс, просматривая журнал записей с начала области данных.
+     * Просмотр останавливается на первом пустом или неправдоподобном заголовке записи.
+     * Записи, не совпадающие со своими контрольными суммами, считаются удаленными, а удаленная
+     * запись с целым ключом отменяет более ранние записи этого ключа.
+     */
+    private void recover(Path file) throws IOException {
+        memory.asSlice(HEADER_SIZE, (long) slotCount * SLOT_SIZE).fill((byte) 0);
+        size = 0;
+        garbage = 0;
+        long limit = memory.byteSize();
+        long offset = dataStart;
+        boolean corrupted = false;
+        while (offset + RECORD_HEADER_SIZE <= limit) {
+            int state = memory.get(MyOwnCodec.INT, offset + 12);
+            int keyLength = memory.get(MyOwnCodec.INT, offset + 4);
+            int valueLength = memory.get(MyOwnCodec.INT, offset + 8);
+            if (state != LIVE && state != DEAD) {
+                corrupted = state != 0 || keyLength != 0 || valueLength != 0;
+                break;
+            }
+            long length = recordLength(keyLength, valueLength);
+            if (keyLength < 0 || valueLength < 0 || offset + length > limit) {
+                corrupted = true;
+                break;
+            }
+            int hash = memory.get(MyOwnCodec.INT, offset);
+            if (state == LIVE && hash == hashBytes(memory, offset + RECORD_HEADER_SIZE, keyLength)
+                    && memory.get(MyOwnCodec.INT, offset + 16)
+                    == hashBytes(memory, offset + RECORD_HEADER_SIZE + keyLength, valueLength)) {
+                int slot = findSlot(hash, keyLength, memory, offset + RECORD_HEADER_SIZE);
+                if (slot >= 0) {
+                    kill(recordAt(slot)); // Более поздняя запись того же ключа побеждает
+                    setSlot(slot, offset, hash);
+                } else if (size >= maxEntries) {
+                    throw new IOException("Индекс переполнен при восстановлении: " + file);
+                } else {
+                    setSlot(~slot, offset, hash);
+                    size++;
+                }
+            } else if (state == DEAD && hash == hashBytes(memory, offset + RECORD_HEADER_SIZE, keyLength)) {
+                // Удаленная запись отменяет более ранние действующие записи ключа
+                int slot = findSlot(hash, keyLength, memory, offset + RECORD_HEADER_SIZE);
+                if (slot >= 0) {
+                    kill(recordAt(slot));
+                    shiftBack(slot);
+                    size--;
+                }
+                garbage += length;
+            } else {
+                // Поврежденная запись не помечается удаленной, чтобы не стать отменой для своего ключа;
+                // индекс на нее не ссылается, и уплотнение ее пропустит
+                garbage += length;
+            }
+            offset += length;
+        }
+        if (corrupted) {
+            memory.asSlice(offset, limit - offset).fill((byte) 0);
+        }
+        dataEnd = offset;
+    }
+
+    /**
+     * В файловом режиме записывает контрольную сумму значения записи.
+     */
+    private void writeValueCheck(long record, int keyLength, int valueLength) {
+        if (channel != null) {
+            memory.set(MyOwnCodec.INT, record + 16,
+                    hashBytes(memory, record + RECORD_HEADER_SIZE + keyLength, valueLength));
+        }
+    }
+
+    /**
+     * Сериализует ключ в буфер поиска, при необходимости увеличив его.
+     *
+     * @return длина ключа в байтах
+     */
+    private int encodeKey(K key) {
+        int length = keyCodec.size(key);
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            scratchSegment = MemorySegment.ofArray(scratch);
+        }
+        keyCodec.write(scratchSegment, 0, key);
+        return length;
+    }
+
+    /**
+     * Ищет ячейку индекса с ключом, байты которого находятся в указанном сегменте.
+     *
+     * @return индекс ячейки или {@code ~index} первой пустой ячейки на пути пробирования
+     */
+    private int findSlot(int hash, int keyLength, MemorySegment key, long keyOffset) {
+        int i = hash & mask;
+        long record;
+        while ((record = recordAt(i)) != 0) {
+            if (memory.get(MyOwnCodec.INT, slotOffset(i) + 8) == hash
+                    && memory.get(MyOwnCodec.INT, record + 4) == keyLength
+                    && MemorySegment.mismatch(memory, record + RECORD_HEADER_SIZE,
+                    record + RECORD_HEADER_SIZE + keyLength, key, keyOffset, keyOffset + keyLength) < 0) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return ~i;
+    }
+
+    /**
+     * Освобождает ячейку индекса, сдвигая назад элементы того же кластера.
+     */
+    private void shiftBack(int gap) {
+        int i = gap;
+        long record;
+        while ((record = recordAt(i = (i + 1) & mask)) != 0) {
+            int hash = memory.get(MyOwnCodec.INT, slotOffset(i) + 8);
+            int ideal = hash & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                setSlot(gap, record, hash);
+                gap = i;
+            }
+        }
+        setSlot(gap, 0, 0);
+    }
+
+    /**
+     * Уплотняет область данных: действующие записи сдвигаются к ее началу в прежнем порядке,
+     * ячейки индекса обновляются, освободившийся хвост заполняется нулями.
+     */
+    void compact() {
+        long src = dataStart;
+        long dst = dataStart;
+        while (src < dataEnd) {
+            int hash = memory.get(MyOwnCodec.INT, src);
+            long length = recordLength(memory.get(MyOwnCodec.INT, src + 4), memory.get(MyOwnCodec.INT, src + 8));
+            int slot = memory.get(MyOwnCodec.INT, src + 12) == LIVE ? indexedSlot(src, hash) : -1;
+            if (slot >= 0) {
+                if (dst != src) {
+                    MemorySegment.copy(memory, src, memory, dst, length);
+                    setSlot(slot, dst, hash);
+                }
+                dst += length;
+            }
+            src += length;
+        }
+        if (dst < dataEnd) {
+            memory.asSlice(dst, dataEnd - dst).fill((byte) 0);
+        }
+        dataEnd = dst;
+        garbage = 0;
+    }
+
+    /**
+     * Возвращает ячейку индекса, ссылающуюся на запись, или -1, если запись не в индексе:
+     * в файловом режиме замененная запись остается действующей по признаку, но индекс на нее
+     * уже не ссылается.
+     */
+    private int indexedSlot(long record, int hash) {
+        int i = hash & mask;
+        long current;
+        while ((current = recordAt(i)) != 0) {
+            if (current == record) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Учитывает запись, замененную более новой записью того же ключа. В памяти запись помечается
+     * удаленной. В файловом режиме признак не меняется: новая запись может попасть на диск позже
+     * пометки, и тогда сбой оставил бы ключ без значения. При восстановлении из нескольких
+     * действующих записей ключа и так побеждает последняя, а уплотнение пропускает записи,
+     * на которые не ссылается индекс.
+     */
+    private void supersede(long record) {
+        if (channel == null) {
+            kill(record);
+        } else {
+            garbage += recordLength(memory.get(MyOwnCodec.INT, record + 4), memory.get(MyOwnCodec.INT, record + 8));
+        }
+    }
+
+    /**
+     * Помечает запись удаленной.
+     */
+    private void kill(long record) {
+        memory.set(MyOwnCodec.INT, record + 12, DEAD);
+        garbage += recordLength(memory.get(MyOwnCodec.INT, record + 4), memory.get(MyOwnCodec.INT, record + 8));
+    }
+
+    /**
+     * Возвращает длину записи, выровненную до 8 байтов.
+     */
+    static long recordLength(int keyLength, int valueLength) {
+        return (RECORD_HEADER_SIZE + (long) keyLength + valueLength + 7) & ~7L;
+    }
+
+    private long slotOffset(int slot) {
+        return HEADER_SIZE + (long) slot * SLOT_SIZE;
+    }
+
+    private long recordAt(int slot) {
+        return memory.get(MyOwnCodec.LONG, slotOffset(slot));
+    }
+
+    private void setSlot(int slot, long record, int hash) {
+        long offset = slotOffset(slot);
+        memory.set(MyOwnCodec.LONG, offset, record);
+        memory.set(MyOwnCodec.INT, offset + 8, hash);
+    }
+}
@@ -0,0 +1,231 @@
+package org.example;
+
+/**
+ * Хэш-таблица с открытой адресацией и линейным пробированием.
+ * <p>
+ * Ключи и значения хранятся в двух параллельных массивах, поэтому на один элемент
+ * не создается ни одного служебного объекта, а поиск идет по соседним ячейкам памяти.
+ * Удаление выполняется обратным сдвигом: следующие элементы кластера сдвигаются на
+ * освободившееся место, так что таблица никогда не содержит "надгробий".
+ * Пустая ячейка обозначается ключом {@code null}, поэтому ключи {@code null} не поддерживаются.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public class MyOwnOpenHashMap<K, V> implements MyOwnMap<K, V> {
+    static final float DEFAULT_LOAD_FACTOR = 0.5f; // Линейное пробирование деградирует при высокой загрузке
+
+    private Object[] keys; // Ключи; null обозначает пустую ячейку
+    private Object[] values; // Значения, параллельно ключам
+    private int mask; // Размер таблицы минус один
+    private final float loadFactor;
+    private int threshold;
+    private int size;
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с емкостью по умолчанию.
+     */
+    public MyOwnOpenHashMap() {
+        this(MyOwnHashMap.DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту, вмещающую указанное число элементов без роста.
+     *
+     * @param capacity ожидаемое количество элементов
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnOpenHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с указанной емкостью и коэффициентом загрузки.
+     *
+     * @param capacity   ожидаемое количество элементов
+     * @param loadFactor доля заполнения таблицы, при превышении которой она удваивается; от 0 до 1
+     * @throws IllegalArgumentException если емкость отрицательна или коэффициент загрузки вне (0, 1)
+     */
+    public MyOwnOpenHashMap(int capacity, float loadFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Недопустимый коэффициент загрузки: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(MyOwnHashMap.tableSizeFor((int) Math.min(Math.ceil(capacity / (double) loadFactor),
+                MyOwnHashMap.MAXIMUM_CAPACITY)));
+    }
+
+    /**
+     * Вычисляет хэш для данного ключа. Умножение на золотое сечение перемешивает все биты,
+     * чтобы последовательные хэш-коды не образовывали длинных кластеров.
+     *
+     * @param key ключ, для которого нужно вычислить хэш
+     * @return хэш ключа
+     */
+    private static int hash(Object key) {
+        return mix(key.hashCode());
+    }
+
+    /**
+     * Перемешивает биты хэш-кода для индексации таблицы маской.
+     *
+     * @param h исходный хэш-код
+     * @return перемешанный хэш
+     */
+    static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Ищет ячейку с указанным ключом.
+     *
+     * @return индекс ячейки или -1, если ключ отсутствует
+     */
+    private int indexOf(Object key) {
+        Object[] keys = this.keys;
+        int mask = this.mask;
+        int i = hash(key) & mask;
+        Object current;
+        while ((current = keys[i]) != null) {
+            if (current == key || current.equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Object[] keys = this.keys;
+        int mask = this.mask;
+        int i = hash(key) & mask;
+        Object current;
+        while ((current = keys[i]) != null) {
+            if (current == key || current.equals(key)) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size >= threshold) {
+            rehash((mask + 1) << 1);
+            keys = this.keys;
+            mask = this.mask;
+            i = hash(key) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public void remove(K key) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            shiftBack(i);
+            size--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Освобождает ячейку, сдвигая назад элементы того же кластера, которые могут ее занять,
+     * не оказываясь перед своей исходной позицией.
+     *
+     * @param gap индекс освобождаемой ячейки
+     */
+    private void shiftBack(int gap) {
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = this.mask;
+        int i = gap;
+        Object current;
+        while ((current = keys[i = (i + 1) & mask]) != null) {
+            int ideal = hash(current) & mask;
+            // Элемент можно сдвинуть, если расстояние от его исходной позиции не меньше расстояния до пропуска
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = current;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    /**
+     * Создает пустые массивы указанного размера.
+     */
+    private void allocate(int tableSize) {
+        keys = new Object[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        // Хотя бы одна ячейка всегда остается пустой, иначе поиск отсутствующего ключа не завершится
+        threshold = Math.min((int) (tableSize * (double) loadFactor), tableSize - 1);
+    }
+
+    /**
+     * Перестраивает таблицу под новый размер.
+     */
+    private void rehash(int newSize) {
+        if (mask + 1 >= MyOwnHashMap.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Таблица переполнена: " + size);
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newSize);
+        Object[] keys = this.keys;
+        int mask = this.mask;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key != null) {
+                int i = hash(key) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.example;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельная сортировка слиянием на {@link ForkJoinPool}.
+ * <p>
+ * Массив рекурсивно делится пополам до кусков размером порядка {@code n / (4 * p)}, где
+ * {@code p} - параллелизм пула, но не меньше {@link #MIN_CHUNK}. Куски сортируются
+ * параллельно {@link MyOwnIntroSort}, затем пары отсортированных половин сливаются. Слияние
+ * тоже параллельное: середина большей половины находится двоичным поиском в меньшей, и две
+ * получившиеся пары сливаются независимо. Уровни рекурсии поочередно пишут в массив и во
+ * вспомогательный буфер того же размера, поэтому каждый элемент копируется один раз на уровень.
+ * <p>
+ * Массивы короче {@link #MIN_CHUNK} и пул с параллелизмом 1 сортируются последовательно.
+ * Сортировка неустойчива.
+ */
+final class MyOwnParallelSort {
+    static final int MIN_CHUNK = 1 << 13; // Меньшие диапазоны не стоят накладных расходов задачи
+    private static final int MIN_MERGE = 1 << 13; // Меньшие слияния выполняются последовательно
+
+    private MyOwnParallelSort() {
+    }
+
+    /**
+     * Сортирует первые {@code n} элементов массива в общем пуле.
+     *
+     * @param a  массив
+     * @param n  количество сортируемых элементов
+     * @param c  компаратор
+     * @param <T> тип элементов
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(Object[] a, int n, Comparator<? super T> c) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (n <= MIN_CHUNK || parallelism <= 1) {
+            MyOwnIntroSort.sort(a, 0, n, c);
+            return;
+        }
+        int chunk = Math.max(n / (parallelism << 2), MIN_CHUNK);
+        Sorter root = new Sorter(a, new Object[n], 0, n, false, chunk, (Comparator<Object>) c);
+        ForkJoinPool.commonPool().invoke(root);
+    }
+
+    /**
+     * Сортирует диапазон {@code [lo, hi)}: результат оказывается в буфере, если {@code intoBuffer},
+     * иначе в массиве. Исходные данные всегда в массиве.
+     */
+    @SuppressWarnings("serial")
+    private static final class Sorter extends RecursiveAction {
+        private final Object[] a;
+        private final Object[] buffer;
+        private final int lo;
+        private final int hi;
+        private final boolean intoBuffer;
+        private final int chunk;
+        private final Comparator<Object> c;
+
+        Sorter(Object[] a, Object[] buffer, int lo, int hi, boolean intoBuffer, int chunk, Comparator<Object> c) {
+            this.a = a;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoBuffer = intoBuffer;
+            this.chunk = chunk;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= chunk) {
+                MyOwnIntroSort.sort(a, lo, hi, c);
+                if (intoBuffer) {
+                    System.arraycopy(a, lo, buffer, lo, hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // Половины сортируются туда, откуда их затем прочитает слияние
+            invokeAll(new Sorter(a, buffer, lo, mid, !intoBuffer, chunk, c),
+                    new Sorter(a, buffer, mid, hi, !intoBuffer, chunk, c));
+            Object[] source = intoBuffer ? a : buffer;
+            Object[] target = intoBuffer ? buffer : a;
+            new Merger(source, target, lo, mid, mid, hi, lo, c).compute();
+        }
+    }
+
+    /**
+     * Сливает упорядоченные диапазоны {@code [lo1, hi1)} и {@code [lo2, hi2)} источника
+     * в приемник, начиная с позиции {@code to}.
+     */
+    @SuppressWarnings("serial")
+    private static final class Merger extends RecursiveAction {
+        private final Object[] source;
+        private final Object[] target;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int to;
+        private final Comparator<Object> c;
+
+        Merger(Object[] source, Object[] target, int lo1, int hi1, int lo2, int hi2, int to, Comparator<Object> c) {
+            this.source = source;
+            this.target = target;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.to = to;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            int len1 = hi1 - lo1;
+            int len2 = hi2 - lo2;
+            if (len1 + len2 <= MIN_MERGE || len1 == 0 || len2 == 0) {
+                merge();
+                return;
+            }
+            int split1;
+            int split2;
+            if (len1 >= len2) {
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(source, lo2, hi2, source[split1], c);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(source, lo1, hi1, source[split2], c);
+            }
+            // Все элементы левых частей не больше элементов правых
+            int rightTo = to + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new Merger(source, target, lo1, split1, lo2, split2, to, c),
+                    new Merger(source, target, split1, hi1, split2, hi2, rightTo, c));
+        }
+
+        private void merge() {
+            Object[] source = this.source;
+            Object[] target = this.target;
+            int i = lo1;
+            int j = lo2;
+            int k = to;
+            while (i < hi1 && j < hi2) {
+                if (c.compare(source[j], source[i]) < 0) {
+                    target[k++] = source[j++];
+                } else {
+                    target[k++] = source[i++];
+                }
+            }
+            if (i < hi1) {
+                System.arraycopy(source, i, target, k, hi1 - i);
+            } else if (j < hi2) {
+                System.arraycopy(source, j, target, k, hi2 - j);
+            }
+        }
+    }
+
+    /**
+     * Возвращает первую позицию диапазона, элемент которой не меньше ключа.
+     */
+    private static int lowerBound(Object[] a, int lo, int hi, Object key, Comparator<Object> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Возвращает первую позицию диапазона, элемент которой больше ключа.
+     */
+    private static int upperBound(Object[] a, int lo, int hi, Object key, Comparator<Object> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,527 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Неизменяемая хэш-карта на префиксном дереве с битовыми картами (HAMT).
+ * <p>
+ * Узел дерева разбирает очередные пять бит хэша ключа и хранит только занятые из 32 ветвей:
+ * наличие ветви отмечается битом в {@code int}, а ее позиция в компактном массиве равна
+ * количеству установленных младших битов. Методы {@link #put} и {@link #remove} не меняют
+ * карту, а возвращают новую версию, копируя только путь от корня до изменяемого листа,
+ * то есть O(log<sub>32</sub> n) узлов; остальные узлы разделяются между версиями.
+ * Поэтому сохранить снимок - значит просто сохранить ссылку на версию, а читать любую
+ * версию можно из многих потоков без блокировок.
+ * <p>
+ * Для быстрого построения большой карты служит изменяемая версия {@link Transient}, получаемая
+ * методом {@link #asTransient()}: она правит на месте узлы, созданные ею самой, и превращается
+ * обратно в неизменяемую карту за O(1) методом {@link Transient#persistent()}.
+ * <p>
+ * Ключи с одинаковым хэшем хранятся в общем узле коллизий. Ключи {@code null} не поддерживаются.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public final class MyOwnPersistentHashMap<K, V> {
+    private static final int BITS = 5; // Бит хэша на уровень дерева
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final MyOwnPersistentHashMap<?, ?> EMPTY = new MyOwnPersistentHashMap<>(new Node(null, 0,
+            new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private MyOwnPersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Возвращает пустую карту.
+     *
+     * @param <K> тип ключей
+     * @param <V> тип значений
+     * @return пустая карта
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> MyOwnPersistentHashMap<K, V> empty() {
+        return (MyOwnPersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Вычисляет хэш ключа. Дерево разбирает хэш от младших бит к старшим, поэтому все биты
+     * хэш-кода перемешиваются.
+     *
+     * @param key ключ, для которого нужно вычислить хэш
+     * @return хэш ключа
+     */
+    private static int hash(Object key) {
+        return MyOwnHashStrategy.fmix32(key.hashCode());
+    }
+
+    /**
+     * Возвращает версию карты, в которой ключ отображается в указанное значение.
+     * Если значение уже такое же (по ссылке), возвращается эта же карта.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return новая версия карты
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    public MyOwnPersistentHashMap<K, V> put(K key, V value) {
+        Change change = new Change();
+        Node newRoot = put(root, hash(key), key, value, 0, null, change);
+        return newRoot == root ? this : new MyOwnPersistentHashMap<>(newRoot, change.added ? size + 1 : size);
+    }
+
+    /**
+     * Возвращает версию карты без указанного ключа. Если ключа нет, возвращается эта же карта.
+     *
+     * @param key ключ
+     * @return новая версия карты
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    public MyOwnPersistentHashMap<K, V> remove(K key) {
+        Node newRoot = remove(root, hash(key), key, 0, null, new Change());
+        if (newRoot == root) {
+            return this;
+        }
+        return size == 1 ? empty() : new MyOwnPersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Возвращает значение, к которому данный ключ отображается,
+     * или {@code null}, если эта карта не содержит отображения для данного ключа.
+     *
+     * @param key ключ, значение которого нужно вернуть
+     * @return значение ключа или {@code null}
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    public V get(K key) {
+        return find(root, key, null);
+    }
+
+    /**
+     * Возвращает значение ключа или значение по умолчанию, если ключ отсутствует.
+     *
+     * @param key          ключ
+     * @param defaultValue значение по умолчанию
+     * @return значение ключа или значение по умолчанию
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        return find(root, key, defaultValue);
+    }
+
+    /**
+     * Возвращает количество пар "ключ-значение" в этой карте.
+     *
+     * @return количество пар
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает {@code true}, если эта карта не содержит пар "ключ-значение".
+     *
+     * @return {@code true}, если карта пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Выполняет действие для каждой пары "ключ-значение" карты.
+     *
+     * @param action действие
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * Возвращает изменяемую версию, начинающуюся с содержимого этой карты. Сама карта
+     * при изменениях изменяемой версии не меняется.
+     *
+     * @return изменяемая версия
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    /**
+     * Ищет значение ключа.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> V find(Node root, K key, V defaultValue) {
+        int h = hash(key);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << ((h >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return defaultValue;
+            }
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Node) {
+                node = (Node) slot;
+            } else if (slot instanceof Leaf) {
+                Leaf leaf = (Leaf) slot;
+                return leaf.hash == h && leaf.key.equals(key) ? (V) leaf.value : defaultValue;
+            } else {
+                Collision collision = (Collision) slot;
+                if (collision.hash == h) {
+                    for (Leaf leaf : collision.leaves) {
+                        if (leaf.key.equals(key)) {
+                            return (V) leaf.value;
+                        }
+                    }
+                }
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * Добавляет или заменяет лист в поддереве.
+     *
+     * @param owner  владелец изменяемой версии, чьи узлы можно править на месте, или {@code null}
+     * @param change сведения о выполненном изменении
+     * @return новый узел или этот же узел, если поддерево не изменилось
+     */
+    private static Node put(Node node, int h, Object key, Object value, int shift, Object owner, Change change) {
+        int bit = 1 << ((h >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            change.added = true;
+            return node.insert(index, bit, new Leaf(h, key, value), owner);
+        }
+        Object slot = node.slots[index];
+        Object replacement;
+        if (slot instanceof Node) {
+            replacement = put((Node) slot, h, key, value, shift + BITS, owner, change);
+        } else if (slot instanceof Leaf) {
+            Leaf leaf = (Leaf) slot;
+            if (leaf.hash == h && leaf.key.equals(key)) {
+                change.previous = leaf.value;
+                replacement = leaf.value == value ? leaf : new Leaf(h, key, value);
+            } else {
+                change.added = true;
+                replacement = merge(leaf, leaf.hash, new Leaf(h, key, value), shift + BITS, owner);
+            }
+        } else {
+            Collision collision = (Collision) slot;
+            if (collision.hash == h) {
+                replacement = collision.put(new Leaf(h, key, value), change);
+            } else {
+                change.added = true;
+                replacement = merge(collision, collision.hash, new Leaf(h, key, value), shift + BITS, owner);
+            }
+        }
+        return replacement == slot ? node : node.replace(index, replacement, owner);
+    }
+
+    /**
+     * Строит поддерево из существующего листа или узла коллизий и нового листа с другим хэшем
+     * либо узел коллизий при равных хэшах.
+     */
+    private static Object merge(Object existing, int existingHash, Leaf leaf, int shift, Object owner) {
+        if (existingHash == leaf.hash) {
+            return new Collision(leaf.hash, new Leaf[]{(Leaf) existing, leaf});
+        }
+        int a = (existingHash >>> shift) & MASK;
+        int b = (leaf.hash >>> shift) & MASK;
+        if (a == b) {
+            return new Node(owner, 1 << a, new Object[]{merge(existing, existingHash, leaf, shift + BITS, owner)});
+        }
+        return new Node(owner, (1 << a) | (1 << b), a < b ? new Object[]{existing, leaf} : new Object[]{leaf, existing});
+    }
+
+    /**
+     * Удаляет ключ из поддерева. Узел с единственным листом заменяется этим листом,
+     * чтобы дерево не содержало цепочек из узлов с одной ветвью.
+     *
+     * @return новый узел, этот же узел, если ключа нет, или {@code null}, если поддерево опустело
+     */
+    private static Node remove(Node node, int h, Object key, int shift, Object owner, Change change) {
+        int bit = 1 << ((h >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        Object slot = node.slots[index];
+        Object replacement;
+        if (slot instanceof Node) {
+            Node child = remove((Node) slot, h, key, shift + BITS, owner, change);
+            if (child == slot) {
+                return node;
+            }
+            replacement = child != null && child.slots.length == 1 && !(child.slots[0] instanceof Node)
+                    ? child.slots[0] : child;
+        } else if (slot instanceof Leaf) {
+            Leaf leaf = (Leaf) slot;
+            if (leaf.hash != h || !leaf.key.equals(key)) {
+                return node;
+            }
+            change.previous = leaf.value;
+            change.removed = true;
+            replacement = null;
+        } else {
+            Collision collision = (Collision) slot;
+            if (collision.hash != h) {
+                return node;
+            }
+            replacement = collision.remove(key, change);
+            if (replacement == collision) {
+                return node;
+            }
+        }
+        if (replacement != null) {
+            return node.replace(index, replacement, owner);
+        }
+        return node.slots.length == 1 ? null : node.delete(index, bit, owner);
+    }
+
+    /**
+     * Обходит поддерево.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEach(Node node, BiConsumer<? super K, ? super V> action) {
+        for (Object slot : node.slots) {
+            if (slot instanceof Node) {
+                forEach((Node) slot, action);
+            } else if (slot instanceof Leaf) {
+                action.accept((K) ((Leaf) slot).key, (V) ((Leaf) slot).value);
+            } else {
+                for (Leaf leaf : ((Collision) slot).leaves) {
+                    action.accept((K) leaf.key, (V) leaf.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Сведения об изменении, возвращаемые рекурсивными операциями помимо нового узла.
+     */
+    private static final class Change {
+        boolean added; // Добавлен новый ключ
+        boolean removed; // Ключ удален
+        Object previous; // Прежнее значение замененного или удаленного ключа
+    }
+
+    /**
+     * Лист дерева: пара "ключ-значение" с хэшем ключа. Листья никогда не изменяются.
+     */
+    private static final class Leaf {
+        final int hash;
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Ключи с одинаковым полным хэшем. Никогда не изменяется.
+     */
+    private static final class Collision {
+        final int hash;
+        final Leaf[] leaves;
+
+        Collision(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        Collision put(Leaf leaf, Change change) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(leaf.key)) {
+                    change.previous = leaves[i].value;
+                    if (leaves[i].value == leaf.value) {
+                        return this;
+                    }
+                    Leaf[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new Collision(hash, copy);
+                }
+            }
+            change.added = true;
+            Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = leaf;
+            return new Collision(hash, copy);
+        }
+
+        /**
+         * Возвращает этот же узел, если ключа нет, оставшийся лист или узел без ключа.
+         */
+        Object remove(Object key, Change change) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    change.previous = leaves[i].value;
+                    change.removed = true;
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf[] copy = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, copy.length - i);
+                    return new Collision(hash, copy);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Внутренний узел дерева. Ветви - это листья, узлы коллизий и другие узлы.
+     * Узел с владельцем правится на месте, пока этот владелец - действующая изменяемая версия;
+     * все остальные узлы изменяются только копированием.
+     */
+    private static final class Node {
+        final Object owner;
+        int bitmap;
+        Object[] slots;
+
+        Node(Object owner, int bitmap, Object[] slots) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private boolean editable(Object owner) {
+            return owner != null && this.owner == owner;
+        }
+
+        Node replace(int index, Object slot, Object owner) {
+            if (editable(owner)) {
+                slots[index] = slot;
+                return this;
+            }
+            Object[] copy = slots.clone();
+            copy[index] = slot;
+            return new Node(owner, bitmap, copy);
+        }
+
+        Node insert(int index, int bit, Object slot, Object owner) {
+            Object[] copy = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, copy, 0, index);
+            copy[index] = slot;
+            System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+            if (editable(owner)) {
+                slots = copy;
+                bitmap |= bit;
+                return this;
+            }
+            return new Node(owner, bitmap | bit, copy);
+        }
+
+        Node delete(int index, int bit, Object owner) {
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, index);
+            System.arraycopy(slots, index + 1, copy, index, copy.length - index);
+            if (editable(owner)) {
+                slots = copy;
+                bitmap &= ~bit;
+                return this;
+            }
+            return new Node(owner, bitmap & ~bit, copy);
+        }
+    }
+
+    /**
+     * Изменяемая версия {@link MyOwnPersistentHashMap} для пакетного построения. Узлы, созданные
+     * этой версией, правятся на месте, поэтому серия вставок почти не создает лишних копий.
+     * Версия не потокобезопасна и после вызова {@link #persistent()} больше не используется.
+     *
+     * @param <K> тип ключей
+     * @param <V> тип значений
+     */
+    public static final class Transient<K, V> implements MyOwnMap<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        private Object owner() {
+            if (owner == null) {
+                throw new IllegalStateException("Изменяемая версия уже завершена");
+            }
+            return owner;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws NullPointerException  если ключ равен {@code null}
+         * @throws IllegalStateException если версия уже завершена
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public V put(K key, V value) {
+            Change change = new Change();
+            root = MyOwnPersistentHashMap.put(root, hash(key), key, value, 0, owner(), change);
+            if (change.added) {
+                size++;
+            }
+            return (V) change.previous;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws NullPointerException  если ключ равен {@code null}
+         * @throws IllegalStateException если версия уже завершена
+         */
+        @Override
+        public V get(K key) {
+            owner();
+            return find(root, key, null);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws NullPointerException  если ключ равен {@code null}
+         * @throws IllegalStateException если версия уже завершена
+         */
+        @Override
+        public void remove(K key) {
+            Change change = new Change();
+            Node newRoot = MyOwnPersistentHashMap.remove(root, hash(key), key, 0, owner(), change);
+            // Свои узлы правятся на месте, поэтому об удалении сообщает только признак изменения
+            if (change.removed) {
+                root = newRoot == null ? new Node(owner, 0, new Object[0]) : newRoot;
+                size--;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Завершает изменяемую версию и возвращает неизменяемую карту с ее содержимым.
+         *
+         * @return неизменяемая карта
+         * @throws IllegalStateException если версия уже завершена
+         */
+        public MyOwnPersistentHashMap<K, V> persistent() {
+            owner();
+            owner = null;
+            return size == 0 ? empty() : new MyOwnPersistentHashMap<>(root, size);
+        }
+    }
+}
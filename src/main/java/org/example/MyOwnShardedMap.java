@@ -0,0 +1,328 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Карта, разделенная на независимые шарды {@link MyOwnHashMap} с одним писателем на шард.
+ * <p>
+ * Ключ попадает в шард по старшим битам перемешанного хэш-кода, а каждым шардом владеет
+ * собственный поток-обработчик, по умолчанию виртуальный. Операции не выполняются в вызывающем
+ * потоке: они ставятся в очередь шарда и возвращают {@link CompletableFuture}. Обработчик забирает
+ * из очереди сразу пакет до {@link #MAX_BATCH} операций и выполняет их подряд, поэтому карта
+ * шарда не нуждается в блокировках, а пропускная способность растет с количеством шардов и ядер.
+ * Операции над одним ключом выполняются в порядке постановки в очередь.
+ * <p>
+ * Для чтения без очереди служит {@link #snapshot()}: каждый шард в свой черед замораживает
+ * карту методом {@link MyOwnHashMap#freeze()}, и полученный {@link Snapshot} читается из любых
+ * потоков напрямую. Снимок согласован внутри шарда, но шарды снимаются независимо.
+ * Заморозка строит новую таблицу за время, пропорциональное размеру шарда, и выполняется
+ * в потоке обработчика, поэтому на это время операции шарда останавливаются; частые снимки
+ * больших карт заметно снижают пропускную способность записи.
+ * <p>
+ * Зависимые действия, присоединенные к результатам без {@code Async}, выполняются в потоке
+ * обработчика, поэтому они не должны блокироваться. Операции, поставленные в очередь до
+ * {@link #close()}, выполняются обычным образом: закрытие ставит в конец каждой очереди признак
+ * остановки и дожидается обработчиков. Новые операции после закрытия отклоняются, а операция,
+ * попавшая в очередь шарда уже после признака остановки, завершается исключением.
+ * Ключи {@code null} не поддерживаются.
+ *
+ * @param <K> тип ключей
+ * @param <V> тип значений
+ */
+public class MyOwnShardedMap<K, V> implements AutoCloseable {
+    static final int MAX_BATCH = 256; // Наибольший пакет операций, выполняемый за один проход
+
+    private final Shard<K, V>[] shards;
+    private volatile boolean closed;
+
+    /**
+     * Операция над картой шарда вместе с ее результатом.
+     */
+    private static final class Task<K, V> {
+        final Function<MyOwnHashMap<K, V>, Object> operation; // null означает остановку обработчика
+        final CompletableFuture<Object> result;
+
+        Task(Function<MyOwnHashMap<K, V>, Object> operation, CompletableFuture<Object> result) {
+            this.operation = operation;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Шард: карта, очередь операций и поток, единолично изменяющий карту.
+     */
+    private static final class Shard<K, V> implements Runnable {
+        final MyOwnHashMap<K, V> map = new MyOwnHashMap<>();
+        final LinkedBlockingQueue<Task<K, V>> queue = new LinkedBlockingQueue<>();
+        volatile boolean stopped;
+        Thread worker;
+
+        @Override
+        public void run() {
+            List<Task<K, V>> batch = new ArrayList<>(MAX_BATCH);
+            try {
+                while (true) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    for (Task<K, V> task : batch) {
+                        if (task.operation == null) {
+                            return;
+                        }
+                        try {
+                            task.result.complete(task.operation.apply(map));
+                        } catch (Throwable e) {
+                            task.result.completeExceptionally(e);
+                        }
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // Признак ставится до очистки: операция, добавленная позже, будет отклонена отправителем
+                stopped = true;
+                for (Task<K, V> task : batch) {
+                    rejectIfPending(task);
+                }
+                rejectPending();
+            }
+        }
+
+        void rejectPending() {
+            Task<K, V> task;
+            while ((task = queue.poll()) != null) {
+                rejectIfPending(task);
+            }
+        }
+
+        private static void rejectIfPending(Task<?, ?> task) {
+            if (task.result != null) {
+                task.result.completeExceptionally(new IllegalStateException("Карта закрыта"));
+            }
+        }
+    }
+
+    /**
+     * Конструктор, создающий карту с указанным количеством шардов на виртуальных потоках.
+     *
+     * @param shardCount количество шардов
+     * @throws IllegalArgumentException если количество шардов не положительно
+     */
+    public MyOwnShardedMap(int shardCount) {
+        this(shardCount, Thread.ofVirtual().name("my-own-shard-", 0).factory());
+    }
+
+    /**
+     * Конструктор, создающий карту с указанным количеством шардов и фабрикой потоков-обработчиков,
+     * например платформенных потоков.
+     *
+     * @param shardCount    количество шардов
+     * @param threadFactory фабрика потоков-обработчиков
+     * @throws IllegalArgumentException если количество шардов не положительно
+     */
+    @SuppressWarnings("unchecked")
+    public MyOwnShardedMap(int shardCount, ThreadFactory threadFactory) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Недопустимое количество шардов: " + shardCount);
+        }
+        if (threadFactory == null) {
+            throw new NullPointerException();
+        }
+        this.shards = (Shard<K, V>[]) new Shard<?, ?>[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            Shard<K, V> shard = new Shard<>();
+            shard.worker = threadFactory.newThread(shard);
+            shards[i] = shard;
+        }
+        for (Shard<K, V> shard : shards) {
+            shard.worker.start();
+        }
+    }
+
+    /**
+     * Возвращает номер шарда для ключа. Используются старшие биты хэша, чтобы выбор шарда
+     * не совпадал с выбором корзины внутри карты шарда по младшим битам.
+     */
+    static int shardOf(Object key, int shardCount) {
+        return (int) (((MyOwnHashStrategy.fmix32(key.hashCode()) & 0xFFFFFFFFL) * shardCount) >>> 32);
+    }
+
+    /**
+     * Возвращает количество шардов.
+     *
+     * @return количество шардов
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Ставит операцию в очередь шарда ключа.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> submit(Shard<K, V> shard, Function<MyOwnHashMap<K, V>, Object> operation) {
+        if (closed) {
+            throw new IllegalStateException("Карта закрыта");
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        shard.queue.add(new Task<>(operation, result));
+        if (shard.stopped) {
+            shard.rejectPending(); // Обработчик уже закончил и операцию не увидит
+        }
+        return (CompletableFuture<R>) (CompletableFuture<?>) result;
+    }
+
+    private Shard<K, V> shardFor(K key) {
+        return shards[shardOf(key, shards.length)];
+    }
+
+    /**
+     * Ассоциирует значение с ключом.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return результат: предыдущее значение ключа или {@code null}
+     * @throws NullPointerException  если ключ равен {@code null}
+     * @throws IllegalStateException если карта закрыта
+     */
+    public CompletableFuture<V> put(K key, V value) {
+        return submit(shardFor(key), map -> map.put(key, value));
+    }
+
+    /**
+     * Возвращает значение ключа после всех ранее поставленных операций над ним.
+     *
+     * @param key ключ
+     * @return результат: значение ключа или {@code null}
+     * @throws NullPointerException  если ключ равен {@code null}
+     * @throws IllegalStateException если карта закрыта
+     */
+    public CompletableFuture<V> get(K key) {
+        return submit(shardFor(key), map -> map.get(key));
+    }
+
+    /**
+     * Удаляет ключ.
+     *
+     * @param key ключ
+     * @return результат: удаленное значение или {@code null}
+     * @throws NullPointerException  если ключ равен {@code null}
+     * @throws IllegalStateException если карта закрыта
+     */
+    public CompletableFuture<V> remove(K key) {
+        return submit(shardFor(key), map -> {
+            V previous = map.get(key);
+            map.remove(key);
+            return previous;
+        });
+    }
+
+    /**
+     * Атомарно для этого ключа вычисляет новое значение, как {@link MyOwnHashMap#compute}.
+     * Функция выполняется в потоке обработчика шарда.
+     *
+     * @param key               ключ
+     * @param remappingFunction функция от ключа и текущего значения; {@code null} удаляет ключ
+     * @return результат: новое значение или {@code null}
+     * @throws NullPointerException  если ключ или функция равны {@code null}
+     * @throws IllegalStateException если карта закрыта
+     */
+    public CompletableFuture<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        return submit(shardFor(key), map -> map.compute(key, remappingFunction));
+    }
+
+    /**
+     * Снимает неизменяемые копии всех шардов. Каждый шард снимается после операций, поставленных
+     * в его очередь до этого вызова.
+     *
+     * @return результат: снимок для чтения без очереди
+     * @throws IllegalStateException если карта закрыта
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Snapshot<K, V>> snapshot() {
+        CompletableFuture<MyOwnFrozenMap<K, V>>[] parts =
+                (CompletableFuture<MyOwnFrozenMap<K, V>>[]) new CompletableFuture<?>[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            parts[i] = submit(shards[i], MyOwnHashMap::freeze);
+        }
+        return CompletableFuture.allOf(parts).thenApply(ignored -> {
+            MyOwnFrozenMap<K, V>[] frozen = (MyOwnFrozenMap<K, V>[]) new MyOwnFrozenMap<?, ?>[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                frozen[i] = parts[i].join();
+            }
+            return new Snapshot<>(frozen);
+        });
+    }
+
+    /**
+     * Останавливает обработчики, дождавшись выполнения уже поставленных операций. Если ожидание
+     * прервано, метод возвращается сразу, сохранив признак прерывания потока; обработчики
+     * все равно завершатся после своих очередей.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Shard<K, V> shard : shards) {
+            shard.queue.add(new Task<>(null, null));
+        }
+        try {
+            for (Shard<K, V> shard : shards) {
+                shard.worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Неизменяемый снимок шардированной карты. Читается из любых потоков без блокировок и очередей.
+     *
+     * @param <K> тип ключей
+     * @param <V> тип значений
+     */
+    public static final class Snapshot<K, V> {
+        private final MyOwnFrozenMap<K, V>[] shards;
+        private final int size;
+
+        private Snapshot(MyOwnFrozenMap<K, V>[] shards) {
+            this.shards = shards;
+            int size = 0;
+            for (MyOwnFrozenMap<K, V> shard : shards) {
+                size += shard.size();
+            }
+            this.size = size;
+        }
+
+        /**
+         * Возвращает значение ключа в снимке.
+         *
+         * @param key ключ
+         * @return значение ключа или {@code null}
+         * @throws NullPointerException если ключ равен {@code null}
+         */
+        public V get(K key) {
+            return shards[shardOf(key, shards.length)].get(key);
+        }
+
+        /**
+         * Возвращает количество пар "ключ-значение" в снимке.
+         *
+         * @return количество пар
+         */
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Хэш-таблица с открытой адресацией по группам в духе Swiss table.
+ * <p>
+ * Каждой ячейке соответствует управляющий байт: {@link #EMPTY}, {@link #DELETED} или семь младших
+ * бит хэша ключа (отпечаток) для занятой ячейки. Ячейки объединены в группы по {@link #GROUP_SIZE};
+ * управляющие байты группы лежат в двух соседних словах {@code long} и сравниваются с отпечатком
+ * разыскиваемого ключа сразу целиком приемами SWAR (SIMD within a register). Метод
+ * {@link Object#equals} вызывается только для ячеек с совпавшим отпечатком, то есть в среднем
+ * реже одного раза на неудачный поиск. Отсутствующий ключ обнаруживается по пустой ячейке в группе,
+ * поэтому поиск обычно читает одно слово управляющих байтов и одну ячейку ключей.
+ * <p>
+ * Благодаря отпечаткам длинные последовательности занятых ячеек почти не замедляют поиск, и таблица
+ * работает с коэффициентом загрузки {@link #MAX_LOAD} (7/8). Удаленная ячейка помечается
+ * {@link #DELETED}, только если в ее группе нет пустых ячеек; "надгробия" учитываются в заполнении
+ * и убираются при перестройке таблицы.
+ * <p>
+ * Ключи {@code null} не поддерживаются.
+ *
+ * @param <K> тип ключей, поддерживаемых этой картой
+ * @param <V> тип значений, отображаемых этой картой
+ */
+public class MyOwnSwissHashMap<K, V> implements MyOwnMap<K, V> {
+    static final int GROUP_SIZE = 16; // Ячеек в группе: два слова управляющих байтов
+    static final double MAX_LOAD = 7 / 8.0; // Наибольшая доля занятых ячеек и "надгробий"
+
+    static final int EMPTY = 0x80; // Пустая ячейка
+    static final int DELETED = 0xFE; // Удаленная ячейка ("надгробие")
+
+    private static final long LSB = 0x0101010101010101L; // Младший бит каждого байта
+    private static final long MSB = 0x8080808080808080L; // Старший бит каждого байта
+    private static final long ALL_EMPTY = EMPTY * LSB; // Слово из восьми пустых ячеек
+
+    private long[] control; // Управляющие байты, по восемь в слове
+    private Object[] keys;
+    private Object[] values;
+    private int groupMask; // Количество групп минус один
+    private int growthLeft; // Сколько пустых ячеек можно занять до перестройки
+    private int size;
+
+    /**
+     * Конструктор, создающий пустую хэш-карту с емкостью по умолчанию.
+     */
+    public MyOwnSwissHashMap() {
+        this(MyOwnHashMap.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор, создающий пустую хэш-карту, вмещающую указанное число элементов без роста.
+     *
+     * @param capacity ожидаемое количество элементов
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public MyOwnSwissHashMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Недопустимая емкость: " + capacity);
+        }
+        allocate(Math.max(GROUP_SIZE, MyOwnHashMap.tableSizeFor((int) Math.min(Math.ceil(capacity / MAX_LOAD),
+                MyOwnHashMap.MAXIMUM_CAPACITY))));
+    }
+
+    /**
+     * Вычисляет хэш ключа. Младшие семь бит служат отпечатком, остальные выбирают группу,
+     * поэтому все биты хэш-кода перемешиваются.
+     *
+     * @param key ключ, для которого нужно вычислить хэш
+     * @return хэш ключа
+     */
+    private static int hash(Object key) {
+        return MyOwnHashStrategy.fmix32(key.hashCode());
+    }
+
+    /**
+     * Возвращает маску, в которой старший бит байта установлен для байтов слова, равных {@code b}.
+     * Бит может оказаться установлен и для байта выше настоящего совпадения, поэтому кандидаты
+     * проверяются сравнением ключей.
+     *
+     * @param word слово управляющих байтов
+     * @param b    искомый байт, от 0 до 0x7F
+     * @return маска совпадений
+     */
+    static long match(long word, int b) {
+        long x = word ^ (b * LSB);
+        return (x - LSB) & ~x & MSB;
+    }
+
+    /**
+     * Возвращает маску пустых ячеек слова: у {@link #EMPTY} установлен старший бит и сброшен
+     * следующий, у {@link #DELETED} установлены оба, у занятых сброшен старший.
+     */
+    static long matchEmpty(long word) {
+        return word & ~(word << 1) & MSB;
+    }
+
+    /**
+     * Возвращает маску пустых и удаленных ячеек слова.
+     */
+    static long matchFree(long word) {
+        return word & MSB;
+    }
+
+    /**
+     * Ищет ячейку с указанным ключом.
+     *
+     * @return индекс ячейки или -1, если ключ отсутствует
+     */
+    private int find(Object key, int h) {
+        long[] control = this.control;
+        Object[] keys = this.keys;
+        int fingerprint = h & 0x7F;
+        int group = (h >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int w = group << 1;
+            for (int half = 0; half < 2; half++, w++) {
+                long word = control[w];
+                for (long m = match(word, fingerprint); m != 0; m &= m - 1) {
+                    int i = (w << 3) + (Long.numberOfTrailingZeros(m) >>> 3);
+                    Object current = keys[i];
+                    if (current == key || (current != null && current.equals(key))) {
+                        return i;
+                    }
+                }
+            }
+            // Пустая ячейка в группе означает, что ключ дальше не вставлялся
+            if ((matchEmpty(control[group << 1]) | matchEmpty(control[(group << 1) + 1])) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask; // Треугольные шаги обходят все группы
+        }
+    }
+
+    /**
+     * Ищет первую пустую или удаленную ячейку на пути поиска хэша.
+     *
+     * @return индекс свободной ячейки
+     */
+    private int findFree(int h) {
+        long[] control = this.control;
+        int group = (h >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int w = group << 1;
+            long m = matchFree(control[w]);
+            if (m == 0) {
+                m = matchFree(control[++w]);
+            }
+            if (m != 0) {
+                return (w << 3) + (Long.numberOfTrailingZeros(m) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Возвращает управляющий байт ячейки.
+     */
+    private int controlAt(int i) {
+        return (int) (control[i >>> 3] >>> ((i & 7) << 3)) & 0xFF;
+    }
+
+    /**
+     * Записывает управляющий байт ячейки.
+     */
+    private void setControl(int i, int b) {
+        int shift = (i & 7) << 3;
+        control[i >>> 3] = (control[i >>> 3] & ~(0xFFL << shift)) | ((long) b << shift);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int h = hash(key);
+        int i = find(key, h);
+        if (i >= 0) {
+            V previous = (V) values[i];
+            values[i] = value;
+            return previous;
+        }
+        i = findFree(h);
+        if (growthLeft == 0 && controlAt(i) == EMPTY) {
+            rehash();
+            i = findFree(h);
+        }
+        if (controlAt(i) == EMPTY) {
+            growthLeft--; // Повторное использование "надгробия" заполнение не увеличивает
+        }
+        setControl(i, h & 0x7F);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int i = find(key, hash(key));
+        return i < 0 ? null : (V) values[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException если ключ равен {@code null}
+     */
+    @Override
+    public void remove(K key) {
+        int i = find(key, hash(key));
+        if (i < 0) {
+            return;
+        }
+        int w = (i >>> 4) << 1;
+        // Если в группе есть пустая ячейка, ни один поиск не проходил через нее дальше
+        if ((matchEmpty(control[w]) | matchEmpty(control[w + 1])) != 0) {
+            setControl(i, EMPTY);
+            growthLeft++;
+        } else {
+            setControl(i, DELETED);
+        }
+        keys[i] = null;
+        values[i] = null;
+        size--;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Создает пустую таблицу указанного размера.
+     */
+    private void allocate(int tableSize) {
+        long[] control = new long[tableSize >>> 3];
+        Arrays.fill(control, ALL_EMPTY);
+        this.control = control;
+        keys = new Object[tableSize];
+        values = new Object[tableSize];
+        groupMask = tableSize / GROUP_SIZE - 1;
+        growthLeft = (int) (tableSize * MAX_LOAD) - size;
+    }
+
+    /**
+     * Перестраивает таблицу: удваивает ее, если занятые ячейки составляют больше половины
+     * допустимого заполнения, иначе только убирает "надгробия" при прежнем размере.
+     */
+    private void rehash() {
+        int tableSize = keys.length;
+        int newSize = tableSize;
+        if (size > (int) (tableSize * MAX_LOAD) / 2) {
+            if (tableSize >= MyOwnHashMap.MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Таблица переполнена: " + size);
+            }
+            newSize = tableSize << 1;
+        }
+        long[] oldControl = control;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newSize);
+        for (int w = 0; w < oldControl.length; w++) {
+            // Занятые ячейки слова - байты со сброшенным старшим битом
+            for (long m = ~oldControl[w] & MSB; m != 0; m &= m - 1) {
+                int j = (w << 3) + (Long.numberOfTrailingZeros(m) >>> 3);
+                Object key = oldKeys[j];
+                int h = hash(key);
+                int i = findFree(h);
+                setControl(i, h & 0x7F);
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
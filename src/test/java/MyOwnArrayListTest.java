@@ -2,7 +2,11 @@ import org.example.MyOwnArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -175,4 +179,154 @@ public class MyOwnArrayListTest {
         assertEquals(2, myList.get(1));
         assertEquals(3, myList.get(2));
     }
+
+    /**
+     * Проверяет сортировку компаратором больших списков с разной начальной упорядоченностью:
+     * случайных, упорядоченных, обратных, из чередующихся серий и с малым числом различных значений.
+     */
+    @Test
+    public void testSortWithComparatorLargeInputs() {
+        Random random = new Random(42);
+        int n = 300_000;
+        int[][] inputs = new int[5][n];
+        for (int i = 0; i < n; i++) {
+            inputs[0][i] = random.nextInt();
+            inputs[1][i] = i;
+            inputs[2][i] = n - i;
+            inputs[3][i] = (i / 1000) % 2 == 0 ? i : -i; // Серии то по возрастанию, то по убыванию
+            inputs[4][i] = random.nextInt(8);
+        }
+        for (int[] input : inputs) {
+            MyOwnArrayList<Integer> list = new MyOwnArrayList<>();
+            for (int value : input) {
+                list.add(value);
+            }
+            list.sortWithComparator(Comparator.naturalOrder());
+
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            assertEquals(n, list.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i], list.get(i));
+            }
+        }
+    }
+
+    /**
+     * Проверяет устойчивость сортировки: элементы с равными ключами сохраняют порядок добавления.
+     */
+    @Test
+    public void testSortWithComparatorIsStable() {
+        Random random = new Random(7);
+        MyOwnArrayList<int[]> list = new MyOwnArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(new int[]{random.nextInt(100), i}); // Ключ и порядковый номер
+        }
+        list.sortWithComparator(Comparator.comparingInt(pair -> pair[0]));
+
+        for (int i = 1; i < list.size(); i++) {
+            int[] previous = list.get(i - 1);
+            int[] current = list.get(i);
+            assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+        }
+        list.set(0, new int[]{-1, -1}); // Замена на месте не меняет размер
+        list.add(new int[]{1000, 0});
+        assertEquals(-1, list.get(0)[0]);
+        assertEquals(100_001, list.size());
+    }
+
+    /**
+     * Проверяет быструю сортировку больших упорядоченных, обратных и одинаковых списков,
+     * на которых прежняя реализация работала квадратичное время и переполняла стек.
+     */
+    @Test
+    public void testQuickSortDegenerateInputs() {
+        int n = 1_000_000;
+        for (int pattern = 0; pattern < 3; pattern++) {
+            MyOwnArrayList<Integer> list = new MyOwnArrayList<>();
+            for (int i = 0; i < n; i++) {
+                list.add(pattern == 0 ? i : pattern == 1 ? n - i : 5);
+            }
+            list.quickSort(Comparator.naturalOrder());
+            for (int i = 1; i < n; i++) {
+                assertTrue(list.get(i - 1) <= list.get(i));
+            }
+        }
+    }
+
+    /**
+     * Проверяет параллельную сортировку больших и коротких списков по сравнению с эталоном.
+     */
+    @Test
+    public void testParallelSort() {
+        Random random = new Random(11);
+        for (int n : new int[]{0, 1, 1000, 2_000_000}) {
+            int[] input = new int[n];
+            MyOwnArrayList<Integer> list = new MyOwnArrayList<>();
+            for (int i = 0; i < n; i++) {
+                input[i] = i % 3 == 0 ? random.nextInt(16) : random.nextInt();
+                list.add(input[i]);
+            }
+            list.parallelSort(Comparator.reverseOrder());
+
+            Arrays.sort(input);
+            assertEquals(n, list.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(input[n - 1 - i], list.get(i));
+            }
+        }
+    }
+
+    /**
+     * Проверяет массовую вставку в конец и в середину, удаление диапазона и управление емкостью.
+     */
+    @Test
+    public void testBulkAddRemoveRangeAndCapacity() {
+        MyOwnArrayList<Integer> list = new MyOwnArrayList<>(0);
+        list.ensureCapacity(5);
+        assertTrue(list.addAll(List.of(1, 2, 6)));
+        assertTrue(list.addAll(2, List.of(3, 4, 5)));
+        assertFalse(list.addAll(List.of()));
+        assertArrayEquals(new Integer[]{1, 2, 3, 4, 5, 6}, list.toArray());
+
+        list.removeRange(1, 4);
+        assertArrayEquals(new Integer[]{1, 5, 6}, list.toArray());
+        list.trimToSize();
+        list.add(7); // Рост после уменьшения емкости до размера
+        assertArrayEquals(new Integer[]{1, 5, 6, 7}, list.toArray());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(5, List.of(1)));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnArrayList<Integer>(-1));
+
+        List<Integer> big = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            big.add(i);
+        }
+        list.addAll(1, big);
+        assertEquals(100_004, list.size());
+        assertEquals(99_999, list.get(100_000));
+        assertEquals(5, list.get(100_001));
+    }
+
+    /**
+     * Проверяет удаление по условию и сохранность списка при исключении в условии.
+     */
+    @Test
+    public void testRemoveIf() {
+        for (int i = 0; i < 10; i++) {
+            myList.add(i);
+        }
+        assertTrue(myList.removeIf(x -> x % 3 == 0));
+        assertFalse(myList.removeIf(x -> x > 100));
+        assertArrayEquals(new Integer[]{1, 2, 4, 5, 7, 8}, myList.toArray());
+
+        assertThrows(IllegalStateException.class, () -> myList.removeIf(x -> {
+            if (x == 5) {
+                throw new IllegalStateException();
+            }
+            return x == 2;
+        }));
+        assertArrayEquals(new Integer[]{1, 4, 5, 7, 8}, myList.toArray()); // Удаление до исключения сохранено
+    }
 }
@@ -0,0 +1,92 @@
+import org.example.MyOwnBigArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnBigArrayList.
+ */
+public class MyOwnBigArrayListTest {
+
+    /**
+     * Тестирование добавления в конец через много сегментов, get, set и forEach.
+     */
+    @Test
+    public void testAppendAcrossSegments() {
+        MyOwnBigArrayList<Integer> list = new MyOwnBigArrayList<>();
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++) {
+            list.add(i);
+        }
+        list.set(500_000L, -1);
+
+        assertEquals(n, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(-1, list.get(500_000L));
+        assertEquals(n - 1, list.get(n - 1L));
+        long[] sum = new long[1];
+        list.forEach(x -> sum[0] += x);
+        assertEquals((long) n * (n - 1) / 2 - 500_001, sum[0]);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(n));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1L, 0));
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    /**
+     * Тестирование вставки и удаления по индексу на границах сегментов и в случайных позициях
+     * по сравнению с эталонным списком.
+     */
+    @Test
+    public void testInsertAndRemoveMatchReference() {
+        MyOwnBigArrayList<Integer> list = new MyOwnBigArrayList<>();
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < 3 * 16384; i++) {
+            list.add(i);
+            reference.add(i);
+        }
+        Random random = new Random(17);
+        int[] boundaries = {0, 16383, 16384, 32767, 32768};
+        for (int step = 0; step < 3000; step++) {
+            int index = step < boundaries.length ? boundaries[step] : random.nextInt(reference.size() + 1);
+            if (step % 2 == 0 || reference.isEmpty() || index == reference.size()) {
+                list.add(index, -step);
+                reference.add(index, -step);
+            } else {
+                list.remove(index);
+                reference.remove(index);
+            }
+        }
+        assertEquals(reference.size(), list.size());
+        for (int i = 0; i < reference.size(); i++) {
+            assertEquals(reference.get(i), list.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(reference.size() + 1L, 0));
+    }
+
+    /**
+     * Тестирование удаления всех элементов с конца и повторного заполнения.
+     */
+    @Test
+    public void testShrinkAndRegrow() {
+        MyOwnBigArrayList<String> list = new MyOwnBigArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            list.add("x" + i);
+        }
+        while (!list.isEmpty()) {
+            list.remove(list.size() - 1);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            list.add(0, "y" + i);
+        }
+        assertEquals(20_000, list.size());
+        assertEquals("y19999", list.get(0));
+        assertEquals("y0", list.get(19_999));
+    }
+}
@@ -0,0 +1,125 @@
+import org.example.MyOwnCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnCache.
+ */
+public class MyOwnCacheTest {
+
+    /**
+     * Тестирование вытеснения LRU: вытесняется элемент, к которому дольше всего не обращались.
+     */
+    @Test
+    public void testLruEvictsLeastRecentlyUsed() {
+        MyOwnCache<String, Integer> cache = new MyOwnCache<>(3, MyOwnCache.Policy.LRU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a")); // "a" становится самым свежим
+        cache.put("d", 4);
+
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(4, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    /**
+     * Тестирование ограничения по весу с пользовательской функцией веса.
+     */
+    @Test
+    public void testMaximumWeight() {
+        MyOwnCache<String, String> cache =
+                new MyOwnCache<>(10, (key, value) -> value.length(), MyOwnCache.Policy.LRU);
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        assertEquals(9, cache.weightedSize());
+        cache.put("c", "123"); // Вытесняет "a"
+        assertNull(cache.get("a"));
+        assertEquals(7, cache.weightedSize());
+
+        cache.put("b", "1"); // Изменение веса существующего элемента
+        assertEquals(4, cache.weightedSize());
+        cache.put("big", "12345678901"); // Тяжелее ограничения: не удерживается
+        assertNull(cache.get("big"));
+        assertTrue(cache.weightedSize() <= 10);
+
+        cache.remove("c");
+        assertNull(cache.get("c"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyOwnCache<String, String>(10, (key, value) -> -1, MyOwnCache.Policy.LRU).put("x", "y"));
+    }
+
+    /**
+     * Проверяет, что W-TinyLFU сохраняет часто запрашиваемые элементы при однократном
+     * сканировании большого числа новых ключей, которое полностью вымывает кэш LRU.
+     */
+    @Test
+    public void testTinyLfuResistsScan() {
+        MyOwnCache<Integer, Integer> lfu = new MyOwnCache<>(100, MyOwnCache.Policy.TINY_LFU);
+        MyOwnCache<Integer, Integer> lru = new MyOwnCache<>(100, MyOwnCache.Policy.LRU);
+        for (MyOwnCache<Integer, Integer> cache : List.of(lfu, lru)) {
+            for (int round = 0; round < 5; round++) {
+                for (int key = 0; key < 50; key++) {
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            }
+            for (int key = 1000; key < 11000; key++) {
+                cache.put(key, key); // Однократное сканирование
+            }
+            assertEquals(100, cache.size());
+        }
+
+        int lfuHot = 0;
+        int lruHot = 0;
+        for (int key = 0; key < 50; key++) {
+            lfuHot += lfu.get(key) != null ? 1 : 0;
+            lruHot += lru.get(key) != null ? 1 : 0;
+        }
+        assertTrue(lfuHot >= 45, "Сохранено популярных ключей: " + lfuHot);
+        assertEquals(0, lruHot);
+    }
+
+    /**
+     * Тестирование случайной последовательности операций: кэш не превышает ограничение,
+     * а найденные значения совпадают с последними записанными.
+     */
+    @Test
+    public void testRandomOperationsRespectBound() {
+        Random random = new Random(11);
+        for (MyOwnCache.Policy policy : MyOwnCache.Policy.values()) {
+            MyOwnCache<Integer, Integer> cache = new MyOwnCache<>(200, (key, value) -> key % 5, policy);
+            Map<Integer, Integer> written = new HashMap<>();
+            for (int i = 0; i < 50_000; i++) {
+                int key = (int) Math.abs(random.nextGaussian() * 300);
+                int op = random.nextInt(10);
+                if (op < 4) {
+                    cache.put(key, i);
+                    written.put(key, i);
+                } else if (op < 5) {
+                    cache.remove(key);
+                } else {
+                    Integer value = cache.get(key);
+                    if (value != null) {
+                        assertEquals(written.get(key), value);
+                    }
+                }
+                assertTrue(cache.weightedSize() <= 200);
+            }
+            assertTrue(cache.hitCount() > 0 && cache.evictionCount() > 0);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+import org.example.MyOwnConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnConcurrentHashMap.
+ */
+public class MyOwnConcurrentHashMapTest {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Запускает задачу одновременно в нескольких потоках и ждет их завершения.
+     */
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Задача, выполняемая одним из потоков теста.
+     */
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Тестирование метода put и get в одном потоке.
+     */
+    @Test
+    public void testPutAndGet() {
+        MyOwnConcurrentHashMap<String, Integer> map = new MyOwnConcurrentHashMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("one", 3);
+
+        assertEquals(Integer.valueOf(3), map.get("one"));
+        assertEquals(Integer.valueOf(2), map.get("two"));
+        assertNull(map.get("three"));
+        assertEquals(2, map.size());
+
+        map.remove("one");
+        assertNull(map.get("one"));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Тестирование одновременной вставки из нескольких потоков с многократным ростом таблицы.
+     */
+    @Test
+    public void testConcurrentPutsWithResize() throws Exception {
+        MyOwnConcurrentHashMap<Integer, Integer> map = new MyOwnConcurrentHashMap<>(1);
+        int perThread = 50_000;
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = thread * perThread + i;
+                map.put(key, key);
+                assertEquals(Integer.valueOf(key), map.get(key));
+            }
+        });
+
+        assertEquals(THREADS * perThread, map.size());
+        for (int key = 0; key < THREADS * perThread; key++) {
+            assertEquals(Integer.valueOf(key), map.get(key));
+        }
+    }
+
+    /**
+     * Тестирование одновременных вставок и удалений.
+     */
+    @Test
+    public void testConcurrentPutAndRemove() throws Exception {
+        MyOwnConcurrentHashMap<Integer, Integer> map = new MyOwnConcurrentHashMap<>();
+        int perThread = 20_000;
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = thread * perThread + i;
+                map.put(key, key);
+                if (i % 2 == 0) {
+                    map.remove(key);
+                }
+            }
+        });
+
+        assertEquals(THREADS * perThread / 2, map.size());
+        for (int key = 0; key < THREADS * perThread; key++) {
+            assertEquals(key % 2 == 0 ? null : Integer.valueOf(key), map.get(key));
+        }
+    }
+
+    /**
+     * Тестирование атомарности computeIfAbsent: функция вызывается один раз на ключ,
+     * а все потоки получают одно и то же значение.
+     */
+    @Test
+    public void testComputeIfAbsentIsAtomic() throws Exception {
+        MyOwnConcurrentHashMap<Integer, Object> map = new MyOwnConcurrentHashMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        int keys = 5_000;
+        Object[][] seen = new Object[THREADS][keys];
+
+        runConcurrently(thread -> {
+            for (int key = 0; key < keys; key++) {
+                seen[thread][key] = map.computeIfAbsent(key, k -> {
+                    calls.incrementAndGet();
+                    return new Object();
+                });
+            }
+        });
+
+        assertEquals(keys, calls.get());
+        assertEquals(keys, map.size());
+        for (int key = 0; key < keys; key++) {
+            for (int thread = 1; thread < THREADS; thread++) {
+                assertSame(seen[0][key], seen[thread][key]);
+            }
+        }
+    }
+
+    /**
+     * Тестирование атомарности putIfAbsent: ровно один поток выигрывает каждый ключ.
+     */
+    @Test
+    public void testPutIfAbsentHasSingleWinner() throws Exception {
+        MyOwnConcurrentHashMap<Integer, Integer> map = new MyOwnConcurrentHashMap<>();
+        AtomicInteger wins = new AtomicInteger();
+        int keys = 10_000;
+
+        runConcurrently(thread -> {
+            for (int key = 0; key < keys; key++) {
+                if (map.putIfAbsent(key, thread) == null) {
+                    wins.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(keys, wins.get());
+        assertEquals(keys, map.size());
+    }
+
+    /**
+     * Тестирование запрета ключей и значений null и рекурсивного изменения.
+     */
+    @Test
+    public void testNullsAndRecursiveUpdateAreRejected() {
+        MyOwnConcurrentHashMap<String, Integer> map = new MyOwnConcurrentHashMap<>();
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put("one", null));
+        assertNull(map.computeIfAbsent("one", k -> null));
+        assertTrue(map.isEmpty());
+        assertThrows(IllegalStateException.class, () -> map.computeIfAbsent("one", k -> {
+            map.put("one", 1);
+            return 2;
+        }));
+    }
+}
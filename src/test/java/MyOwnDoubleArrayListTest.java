@@ -0,0 +1,62 @@
+import org.example.MyOwnDoubleArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnDoubleArrayList.
+ */
+public class MyOwnDoubleArrayListTest {
+
+    /**
+     * Тестирование методов add, get, set и remove.
+     */
+    @Test
+    public void testAddGetSetRemove() {
+        MyOwnDoubleArrayList list = new MyOwnDoubleArrayList(1);
+        list.add(1.5);
+        list.add(2.5);
+        list.add(0, -0.5);
+        list.set(1, 10.0);
+        list.remove(2);
+
+        assertEquals(2, list.size());
+        assertEquals(-0.5, list.get(0));
+        assertEquals(10.0, list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    /**
+     * Тестирование сортировки, двоичного поиска и агрегатов, включая NaN.
+     */
+    @Test
+    public void testSortSearchAndAggregates() {
+        Random random = new Random(9);
+        MyOwnDoubleArrayList list = new MyOwnDoubleArrayList();
+        assertThrows(NoSuchElementException.class, list::max);
+        double sum = 0;
+        for (int i = 0; i < 50_001; i++) {
+            double value = random.nextInt(1000) / 4.0; // Точно представимые слагаемые
+            list.add(value);
+            sum += value;
+        }
+        double[] expected = list.toArray();
+        Arrays.sort(expected);
+        list.sort();
+
+        assertArrayEquals(expected, list.toArray());
+        assertEquals(sum, list.sum());
+        assertEquals(expected[0], list.min());
+        assertEquals(expected[expected.length - 1], list.max());
+        assertEquals(expected[100], list.get(list.binarySearch(expected[100])));
+
+        list.add(Double.NaN);
+        assertTrue(Double.isNaN(list.max()));
+        list.sort();
+        assertTrue(Double.isNaN(list.get(list.size() - 1)));
+    }
+}
@@ -0,0 +1,131 @@
+import org.example.MyOwnExpiringMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnExpiringMap.
+ */
+public class MyOwnExpiringMapTest {
+
+    /**
+     * Тестирование истечения от записи.
+     * Проверяет, что чтение не продлевает срок, а повторная запись продлевает.
+     */
+    @Test
+    public void testExpireAfterWrite() {
+        AtomicLong clock = new AtomicLong();
+        MyOwnExpiringMap<String, Integer> map = new MyOwnExpiringMap<>(10, TimeUnit.SECONDS,
+                MyOwnExpiringMap.Expiry.AFTER_WRITE, clock::get);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(1, map.get("a"));
+        assertEquals(2, map.put("b", 20));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertNull(map.get("a"));
+        assertEquals(20, map.get("b"));
+        assertEquals(1, map.size());
+        assertEquals(1, map.expirationCount());
+    }
+
+    /**
+     * Тестирование истечения от обращения.
+     * Проверяет, что регулярные чтения сохраняют элемент, а простой приводит к истечению.
+     */
+    @Test
+    public void testExpireAfterAccess() {
+        AtomicLong clock = new AtomicLong();
+        MyOwnExpiringMap<String, Integer> map = new MyOwnExpiringMap<>(1, TimeUnit.MINUTES,
+                MyOwnExpiringMap.Expiry.AFTER_ACCESS, clock::get);
+        map.put("a", 1);
+        map.put("b", 2);
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(40));
+            assertEquals(1, map.get("a"));
+        }
+
+        assertNull(map.get("b"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertNull(map.get("a"));
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Тестирование собственного времени жизни элемента и упреждающей очистки.
+     * Проверяет, что колесо удаляет истекшие элементы без обращений к ним.
+     */
+    @Test
+    public void testPerEntryTtlAndProactiveCleanUp() {
+        AtomicLong clock = new AtomicLong(-TimeUnit.HOURS.toNanos(1)); // Часы могут начинаться с отрицательного значения
+        MyOwnExpiringMap<Integer, String> map = new MyOwnExpiringMap<>(1, TimeUnit.DAYS,
+                MyOwnExpiringMap.Expiry.AFTER_WRITE, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i, i + 1, TimeUnit.SECONDS);
+        }
+        map.put(-1, "долгий");
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, "x", 0, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500_500));
+        map.cleanUp();
+        assertEquals(501, map.size()); // 500 элементов с большим сроком и долгий
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i < 500 ? null : "v" + i, map.get(i));
+        }
+
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+        map.cleanUp();
+        assertEquals(1, map.size());
+        assertEquals("долгий", map.get(-1));
+        assertEquals(1000, map.expirationCount());
+
+        clock.addAndGet(TimeUnit.DAYS.toNanos(1));
+        map.cleanUp();
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * Тестирование случайной последовательности операций в сравнении с моделью.
+     * Проверяет, что карта никогда не возвращает истекший элемент и не теряет живой.
+     */
+    @Test
+    public void testRandomOperationsMatchModel() {
+        AtomicLong clock = new AtomicLong();
+        MyOwnExpiringMap<Integer, Integer> map = new MyOwnExpiringMap<>(3, TimeUnit.SECONDS,
+                MyOwnExpiringMap.Expiry.AFTER_WRITE, clock::get);
+        Map<Integer, long[]> model = new HashMap<>(); // Значение и срок
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            clock.addAndGet(random.nextInt(50_000_000));
+            int key = random.nextInt(1_000);
+            long[] expected = model.get(key);
+            boolean alive = expected != null && expected[1] - clock.get() > 0;
+            switch (random.nextInt(3)) {
+                case 0:
+                    int ttl = 1 + random.nextInt(5_000);
+                    map.put(key, i, ttl, TimeUnit.MILLISECONDS);
+                    model.put(key, new long[]{i, clock.get() + TimeUnit.MILLISECONDS.toNanos(ttl)});
+                    break;
+                case 1:
+                    map.remove(key);
+                    model.remove(key);
+                    break;
+                default:
+                    Integer value = map.get(key);
+                    assertEquals(alive ? Integer.valueOf((int) expected[0]) : null, value);
+            }
+        }
+        map.cleanUp();
+        long now = clock.get();
+        assertTrue(map.size() >= model.values().stream().filter(e -> e[1] - now > 0).count());
+    }
+}
@@ -0,0 +1,155 @@
+import org.example.MyOwnFrozenMap;
+import org.example.MyOwnHashMap;
+import org.example.MyOwnHashStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnFrozenMap.
+ */
+public class MyOwnFrozenMapTest {
+
+    /**
+     * Тестирование снимка большой карты.
+     * Проверяет, что каждый ключ находится, а отсутствующие ключи дают null и значение по умолчанию.
+     */
+    @Test
+    public void testFreezeFindsEveryKey() {
+        MyOwnHashMap<Integer, String> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i * 7, "v" + i);
+        }
+        MyOwnFrozenMap<Integer, String> frozen = map.freeze();
+
+        assertEquals(100_000, frozen.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals("v" + i, frozen.get(i * 7));
+        }
+        assertNull(frozen.get(1));
+        assertNull(frozen.get(-7));
+        assertEquals("нет", frozen.getOrDefault(3, "нет"));
+        assertEquals("v2", frozen.getOrDefault(14, "нет"));
+    }
+
+    /**
+     * Тестирование неизменяемости снимка.
+     * Проверяет, что изменения запрещены, а снимок не зависит от исходной карты.
+     */
+    @Test
+    public void testFrozenMapIsImmutable() {
+        MyOwnHashMap<String, Integer> map = new MyOwnHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        MyOwnFrozenMap<String, Integer> frozen = map.freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("c", 3));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("a"));
+        assertThrows(NullPointerException.class, () -> frozen.get(null));
+
+        map.put("a", 10);
+        map.remove("b");
+        assertEquals(Integer.valueOf(1), frozen.get("a"));
+        assertEquals(Integer.valueOf(2), frozen.get("b"));
+    }
+
+    /**
+     * Тестирование пустого снимка.
+     * Проверяет размер и поиск в снимке пустой карты.
+     */
+    @Test
+    public void testFreezeEmptyMap() {
+        MyOwnFrozenMap<String, Integer> frozen = new MyOwnHashMap<String, Integer>().freeze();
+
+        assertEquals(0, frozen.size());
+        assertTrue(frozen.isEmpty());
+        assertNull(frozen.get("a"));
+    }
+
+    /**
+     * Тестирование ключей с одинаковым хэшем.
+     * Проверяет, что ключи, которые хэш-функция не различает, находятся через дополнительную карту.
+     */
+    @Test
+    public void testEqualHashesGoToOverflow() {
+        MyOwnHashMap<SameHashKey, Integer> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(new SameHashKey(i), i);
+        }
+        MyOwnFrozenMap<SameHashKey, Integer> frozen = map.freeze();
+
+        assertEquals(1000, frozen.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), frozen.get(new SameHashKey(i)));
+        }
+        assertNull(frozen.get(new SameHashKey(1000)));
+    }
+
+    /**
+     * Тестирование снимка с пользовательской стратегией и обхода.
+     * Проверяет, что снимок сравнивает ключи стратегией карты и обходит все пары.
+     */
+    @Test
+    public void testFreezeKeepsStrategyAndForEach() {
+        MyOwnHashMap<byte[], Integer> map = new MyOwnHashMap<>(MyOwnHashStrategy.byteArrays());
+        for (int i = 0; i < 500; i++) {
+            map.put(new byte[]{(byte) i, (byte) (i >> 8)}, i);
+        }
+        MyOwnFrozenMap<byte[], Integer> frozen = map.freeze();
+
+        assertEquals(Integer.valueOf(300), frozen.get(new byte[]{(byte) 300, (byte) (300 >> 8)}));
+        Map<Integer, Integer> seen = new HashMap<>();
+        frozen.forEach((key, value) -> seen.merge(value, 1, Integer::sum));
+        assertEquals(500, seen.size());
+        assertTrue(seen.values().stream().allMatch(count -> count == 1));
+    }
+
+    /**
+     * Тестирование чтения из нескольких потоков.
+     * Проверяет, что параллельные поиски без синхронизации находят все ключи.
+     */
+    @Test
+    public void testConcurrentReads() {
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            map.put(i, i * 2);
+        }
+        MyOwnFrozenMap<Integer, Integer> frozen = map.freeze();
+        AtomicInteger found = new AtomicInteger();
+
+        IntStream.range(0, 8).parallel().forEach(t -> {
+            for (int i = 0; i < 50_000; i++) {
+                if (frozen.get(i) == i * 2) {
+                    found.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(8 * 50_000, found.get());
+    }
+
+    /**
+     * Ключ, у которого каждые десять подряд идущих идентификаторов имеют одинаковый хэш-код.
+     */
+    private static final class SameHashKey {
+        private final int id;
+
+        SameHashKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SameHashKey && ((SameHashKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id / 10;
+        }
+    }
+}
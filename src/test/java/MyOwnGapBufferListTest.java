@@ -0,0 +1,112 @@
+import org.example.MyOwnGapBufferList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnGapBufferList.
+ */
+public class MyOwnGapBufferListTest {
+
+    /**
+     * Тестирование правок рядом с курсором, как в текстовом редакторе: набор, удаление назад
+     * и вперед, замена и чтение по индексу.
+     */
+    @Test
+    public void testEditsAroundCursor() {
+        MyOwnGapBufferList<Character> text = new MyOwnGapBufferList<>();
+        for (char c : "hello world".toCharArray()) {
+            text.add(c);
+        }
+        int cursor = 5;
+        for (char c : ", dear".toCharArray()) {
+            text.add(cursor++, c);
+        }
+        text.remove(--cursor); // Удаление назад
+        text.add(cursor++, 'R');
+        text.remove(cursor); // Удаление вперед пробела
+        text.set(0, 'H');
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < text.size(); i++) {
+            result.append(text.get(i));
+        }
+        assertEquals("Hello, deaRworld", result.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> text.get(text.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> text.add(-1, 'x'));
+    }
+
+    /**
+     * Тестирование случайных вставок, удалений, замен и массовых операций по сравнению с эталоном.
+     */
+    @Test
+    public void testRandomOperationsMatchReference() {
+        MyOwnGapBufferList<Integer> list = new MyOwnGapBufferList<>(0);
+        List<Integer> reference = new ArrayList<>();
+        Random random = new Random(23);
+        for (int step = 0; step < 20_000; step++) {
+            int size = reference.size();
+            int operation = random.nextInt(10);
+            if (operation < 5 || size == 0) {
+                int index = random.nextInt(size + 1);
+                list.add(index, step);
+                reference.add(index, step);
+            } else if (operation < 8) {
+                int index = random.nextInt(size);
+                list.remove(index);
+                reference.remove(index);
+            } else if (operation == 8) {
+                int index = random.nextInt(size);
+                list.set(index, -step);
+                reference.set(index, -step);
+            } else {
+                int from = random.nextInt(size + 1);
+                int to = Math.min(size, from + random.nextInt(5));
+                list.removeRange(from, to);
+                reference.subList(from, to).clear();
+                int index = random.nextInt(reference.size() + 1);
+                list.addAll(index, List.of(step, step + 1));
+                reference.addAll(index, List.of(step, step + 1));
+            }
+        }
+        assertEquals(reference.size(), list.size());
+        assertArrayEquals(reference.toArray(), list.toArray());
+    }
+
+    /**
+     * Тестирование сортировок, удаления по условию и управления емкостью при разрыве в середине.
+     */
+    @Test
+    public void testSortRemoveIfAndCapacity() {
+        MyOwnGapBufferList<Integer> list = new MyOwnGapBufferList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i / 2, i);
+        }
+        list.sortWithComparator(Comparator.reverseOrder());
+        assertEquals(999, list.get(0));
+        assertEquals(0, list.get(999));
+
+        list.add(500, 5000); // Разрыв снова в середине
+        list.quickSort(Comparator.naturalOrder());
+        assertEquals(5000, list.get(1000));
+        assertTrue(list.removeIf(x -> x % 2 == 1));
+        assertEquals(501, list.size());
+
+        list.add(250, -1);
+        list.trimToSize();
+        list.ensureCapacity(2000);
+        list.add(-2);
+        list.parallelSort(Comparator.naturalOrder());
+        assertEquals(-2, list.get(0));
+        assertEquals(-1, list.get(1));
+        assertEquals(0, list.get(2));
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnGapBufferList<Integer>(-1));
+    }
+}
@@ -0,0 +1,127 @@
+import org.example.MyOwnCodec;
+import org.example.MyOwnHashMap;
+import org.example.MyOwnHashMapSerializer;
+import org.example.MyOwnHashStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnHashMapSerializer.
+ */
+public class MyOwnHashMapSerializerTest {
+
+    /**
+     * Тестирование записи и загрузки большой карты через файл.
+     * Проверяет, что загруженная карта содержит все элементы исходной.
+     */
+    @Test
+    public void testRoundTripThroughFile(@TempDir Path dir) throws IOException {
+        MyOwnHashMap<String, Long> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            map.put("ключ-" + i, i * 31L);
+        }
+        MyOwnHashMapSerializer<String, Long> serializer = new MyOwnHashMapSerializer<>(MyOwnCodec.strings(),
+                MyOwnCodec.longs());
+        Path file = dir.resolve("map.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            serializer.write(map, channel);
+        }
+
+        MyOwnHashMap<String, Long> loaded;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            loaded = serializer.read(channel);
+        }
+        assertEquals(map.size(), loaded.size());
+        for (int i = 0; i < 200_000; i++) {
+            assertEquals(Long.valueOf(i * 31L), loaded.get("ключ-" + i));
+        }
+        assertEquals(loaded.stats().capacity(), map.stats().capacity()); // Таблица создана сразу нужного размера
+    }
+
+    /**
+     * Тестирование элементов больше буфера и загрузки с пользовательской стратегией.
+     */
+    @Test
+    public void testLargeEntriesAndStrategy() throws IOException {
+        MyOwnHashMap<byte[], byte[]> map = new MyOwnHashMap<>(MyOwnHashStrategy.byteArrays());
+        byte[] big = new byte[3 << 20]; // Больше буфера сериализатора
+        Arrays.fill(big, (byte) 7);
+        map.put(new byte[]{1}, big);
+        map.put(new byte[]{2}, new byte[0]);
+        map.put(new byte[0], new byte[]{3});
+        MyOwnHashMapSerializer<byte[], byte[]> serializer = new MyOwnHashMapSerializer<>(MyOwnCodec.bytes(),
+                MyOwnCodec.bytes());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(map, Channels.newChannel(out));
+        MyOwnHashMap<byte[], byte[]> loaded = serializer.read(Channels.newChannel(
+                new ByteArrayInputStream(out.toByteArray())), MyOwnHashStrategy.byteArrays());
+
+        assertEquals(3, loaded.size());
+        assertArrayEquals(big, loaded.get(new byte[]{1}));
+        assertArrayEquals(new byte[0], loaded.get(new byte[]{2}));
+        assertArrayEquals(new byte[]{3}, loaded.get(new byte[0]));
+    }
+
+    /**
+     * Тестирование поврежденных данных.
+     * Проверяет отказ при чужой сигнатуре и при оборванном потоке.
+     */
+    @Test
+    public void testRejectsForeignAndTruncatedData() throws IOException {
+        MyOwnHashMapSerializer<Integer, Integer> serializer = new MyOwnHashMapSerializer<>(MyOwnCodec.ints(),
+                MyOwnCodec.ints());
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, -i);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(map, Channels.newChannel(out));
+        byte[] bytes = out.toByteArray();
+        assertEquals(16 + 1000 * 16, bytes.length);
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThrows(EOFException.class, () -> serializer.read(Channels.newChannel(new ByteArrayInputStream(truncated))));
+        byte[] foreign = bytes.clone();
+        foreign[0] ^= 1;
+        assertThrows(IOException.class, () -> serializer.read(Channels.newChannel(new ByteArrayInputStream(foreign))));
+        assertEquals(Integer.valueOf(-999), serializer.read(Channels.newChannel(new ByteArrayInputStream(bytes))).get(999));
+    }
+
+    /**
+     * Тестирование кодирования строк в UTF-8.
+     * Проверяет, что байты ключа совпадают с {@link String#getBytes}, включая суррогатные пары
+     * и одиночные суррогаты, которые заменяются на '?'.
+     */
+    @Test
+    public void testStringEncodingMatchesGetBytes() throws IOException {
+        String key = "a\u00e9\u0436\u20ac\ud83d\ude00\ud800x\udc00";
+        byte[] expected = key.getBytes(StandardCharsets.UTF_8);
+        MyOwnHashMap<String, Integer> map = new MyOwnHashMap<>();
+        map.put(key, 1);
+        MyOwnHashMapSerializer<String, Integer> serializer = new MyOwnHashMapSerializer<>(MyOwnCodec.strings(),
+                MyOwnCodec.ints());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(map, Channels.newChannel(out));
+        byte[] bytes = out.toByteArray();
+        assertEquals(16 + 8 + expected.length + 4, bytes.length);
+        assertArrayEquals(expected, Arrays.copyOfRange(bytes, 24, 24 + expected.length));
+
+        MyOwnHashMap<String, Integer> loaded = serializer.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        assertEquals(Integer.valueOf(1), loaded.get(new String(expected, StandardCharsets.UTF_8)));
+    }
+}
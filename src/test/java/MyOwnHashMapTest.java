@@ -1,9 +1,19 @@
 import org.example.MyOwnHashMap;
+import org.example.MyOwnHashMapStats;
+import org.example.MyOwnHashStrategy;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -87,4 +97,617 @@ public class MyOwnHashMapTest {
         map.remove("one");
         assertTrue(map.isEmpty()); // Проверяем, что карта снова пуста
     }
+
+    /**
+     * Тестирование автоматического роста таблицы.
+     * Проверяет, что при количестве элементов, во много раз превышающем начальную емкость,
+     * все элементы остаются доступными, а размер учитывается правильно.
+     */
+    @Test
+    public void testGrowthKeepsAllEntries() {
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>(2);
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, i * 2);
+        }
+
+        assertEquals(100_000, map.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(Integer.valueOf(i * 2), map.get(i));
+        }
+        assertNull(map.get(100_000));
+    }
+
+    /**
+     * Тестирование изменений во время постепенного переноса.
+     * Обновления и удаления, чередующиеся с ростом, должны давать тот же результат,
+     * что и для таблицы без переноса.
+     */
+    @Test
+    public void testUpdatesAndRemovalsDuringRehash() {
+        MyOwnHashMap<Integer, String> map = new MyOwnHashMap<>(0);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "v" + i);
+            if (i % 3 == 0) {
+                map.remove(i / 2);
+            }
+            if (i % 5 == 0) {
+                map.put(i / 5, "u" + i);
+            }
+        }
+
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.put(i, "v" + i);
+            if (i % 3 == 0) {
+                expected.remove(i / 2);
+            }
+            if (i % 5 == 0) {
+                expected.put(i / 5, "u" + i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(expected.get(i), map.get(i));
+        }
+    }
+
+    /**
+     * Тестирование проверки аргументов конструктора.
+     */
+    @Test
+    public void testInvalidConstructorArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnHashMap<String, Integer>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnHashMap<String, Integer>(16, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnHashMap<String, Integer>(16, Float.NaN));
+    }
+
+    /**
+     * Ключ с постоянным хэш-кодом: все такие ключи попадают в одну корзину.
+     */
+    private static final class SameHashKey {
+        private final int id;
+
+        SameHashKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SameHashKey && ((SameHashKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+
+    /**
+     * Сравнимый ключ с постоянным хэш-кодом.
+     */
+    private static final class ComparableSameHashKey implements Comparable<ComparableSameHashKey> {
+        private final int id;
+
+        ComparableSameHashKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComparableSameHashKey && ((ComparableSameHashKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public int compareTo(ComparableSameHashKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Тестирование корзины-дерева для сравнимых ключей с одинаковым хэшем.
+     * Проверяет поиск, обновление и удаление вплоть до обратного превращения в цепочку.
+     */
+    @Test
+    public void testTreeifiedBucketWithComparableKeys() {
+        MyOwnHashMap<ComparableSameHashKey, Integer> map = new MyOwnHashMap<>(64);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(new ComparableSameHashKey(i), i);
+        }
+        map.put(new ComparableSameHashKey(500), -500);
+
+        assertEquals(1_000, map.size());
+        assertEquals(Integer.valueOf(-500), map.get(new ComparableSameHashKey(500)));
+        assertNull(map.get(new ComparableSameHashKey(1_000)));
+
+        for (int i = 0; i < 995; i++) {
+            map.remove(new ComparableSameHashKey(i));
+        }
+
+        assertEquals(5, map.size());
+        for (int i = 995; i < 1_000; i++) {
+            assertEquals(Integer.valueOf(i), map.get(new ComparableSameHashKey(i)));
+        }
+        assertNull(map.get(new ComparableSameHashKey(0)));
+    }
+
+    /**
+     * Тестирование корзины-дерева для несравнимых ключей с одинаковым хэшем,
+     * в том числе во время роста таблицы.
+     */
+    @Test
+    public void testTreeifiedBucketWithNonComparableKeys() {
+        MyOwnHashMap<Object, Integer> map = new MyOwnHashMap<>(2);
+        for (int i = 0; i < 2_000; i++) {
+            map.put(new SameHashKey(i), i);
+            map.put(i, i); // Обычные ключи заставляют таблицу расти
+        }
+
+        assertEquals(4_000, map.size());
+        for (int i = 0; i < 2_000; i += 2) {
+            map.remove(new SameHashKey(i));
+        }
+
+        assertEquals(3_000, map.size());
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(new SameHashKey(i)));
+            assertEquals(Integer.valueOf(i), map.get(i));
+        }
+    }
+
+    /**
+     * Тестирование роста таблицы при putAll: таблица увеличивается один раз сразу до нужного
+     * размера, а корзины-деревья со многими коллизиями переносятся без потери элементов.
+     */
+    @Test
+    public void testPutAllPresizesOnce() {
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>();
+        map.setStatsEnabled(true);
+        Integer[] keys = new Integer[100_000];
+        Integer[] values = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+            values[i] = -i;
+        }
+        map.putAll(keys, values);
+
+        MyOwnHashMapStats stats = map.stats();
+        assertTrue(stats.resizes() <= 1, stats.toString());
+        assertEquals(keys.length, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(-i, map.get(i));
+        }
+
+        MyOwnHashMap<CollidingKey, Integer> colliding = new MyOwnHashMap<>(64);
+        for (int i = 0; i < 20; i++) {
+            colliding.put(new CollidingKey(i), i);
+        }
+        assertEquals(1, colliding.stats().treeBins());
+        CollidingKey[] more = new CollidingKey[10_000];
+        Integer[] moreValues = new Integer[more.length];
+        for (int i = 0; i < more.length; i++) {
+            more[i] = new CollidingKey(1000 + i);
+            moreValues[i] = i;
+        }
+        colliding.putAll(more, moreValues);
+        assertEquals(10_020, colliding.size());
+        assertEquals(1, colliding.stats().treeBins()); // Дерево перестроено в новой таблице
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, colliding.get(new CollidingKey(i)));
+        }
+        assertEquals(9_999, colliding.get(new CollidingKey(10_999)));
+    }
+
+    /**
+     * Тестирование пакетной перезаписи существующих ключей.
+     * Проверяет, что таблица не растет, если все ключи пакета уже есть в карте.
+     */
+    @Test
+    public void testPutAllOverwriteDoesNotGrow() {
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 12; i++) {
+            map.put(i, i);
+        }
+        map.setStatsEnabled(true);
+        int capacity = map.stats().capacity();
+        Integer[] keys = new Integer[1000];
+        Integer[] values = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 12;
+            values[i] = -i;
+        }
+        map.putAll(keys, values);
+        assertEquals(12, map.size());
+        assertEquals(capacity, map.stats().capacity());
+        assertEquals(0, map.stats().resizes());
+        assertEquals(-999, map.get(999 % 12));
+    }
+
+    /**
+     * Ключ, у которого первые 20 экземпляров имеют одинаковый хэш-код.
+     */
+    private static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id < 20 ? 7 : id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Тестирование пакетных операций putAll, getAll и removeAll в сравнении с java.util.HashMap.
+     */
+    @Test
+    public void testBatchOperations() {
+        MyOwnHashMap<Integer, String> map = new MyOwnHashMap<>();
+        map.put(-1, "старое");
+        Integer[] keys = new Integer[10_000];
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 7_000 - 1; // Есть повторы и уже присутствующий ключ
+            values[i] = "v" + i;
+        }
+        map.putAll(keys, values);
+
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(-1, "старое");
+        for (int i = 0; i < keys.length; i++) {
+            expected.put(keys[i], values[i]); // Побеждает последнее значение
+        }
+        assertEquals(expected.size(), map.size());
+
+        Integer[] probe = new Integer[8_000];
+        for (int i = 0; i < probe.length; i++) {
+            probe[i] = i - 500;
+        }
+        String[] out = new String[probe.length];
+        int found = map.getAll(probe, out);
+        int expectedFound = 0;
+        for (int i = 0; i < probe.length; i++) {
+            assertEquals(expected.get(probe[i]), out[i]);
+            expectedFound += expected.containsKey(probe[i]) ? 1 : 0;
+        }
+        assertEquals(expectedFound, found);
+
+        assertEquals(expectedFound, map.removeAll(probe));
+        assertEquals(expected.size() - expectedFound, map.size());
+        assertNull(map.get(0));
+
+        map.putAll(expected.entrySet());
+        assertEquals(expected.size(), map.size());
+        assertEquals("v7003", map.get(2)); // Значение последнего повтора
+
+        assertThrows(IllegalArgumentException.class, () -> map.putAll(new Integer[2], new String[1]));
+        assertThrows(NullPointerException.class, () -> map.putAll(new Integer[]{1, null}, new String[2]));
+        assertEquals(expected.size(), map.size()); // Карта не изменилась
+    }
+
+    /**
+     * Тестирование обхода через forEach и представления keySet, values и entrySet.
+     */
+    @Test
+    public void testIterationViews() {
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i * 2); // Таблица растет, часть переноса остается незавершенной
+            expected.put(i, i * 2);
+        }
+
+        Map<Integer, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(expected, seen);
+
+        assertEquals(1000, map.keySet().size());
+        assertTrue(map.keySet().contains(999));
+        assertFalse(map.keySet().contains(1000));
+        long keySum = 0;
+        for (int key : map.keySet()) {
+            keySum += key;
+        }
+        assertEquals(999L * 1000 / 2, keySum);
+        assertEquals(999L * 1000, map.values().stream().mapToLong(Integer::longValue).sum());
+        assertTrue(map.entrySet().contains(Map.entry(7, 14)));
+        assertFalse(map.entrySet().contains(Map.entry(7, 15)));
+
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() + 1); // Изменение значения через элемент
+        }
+        assertEquals(15, map.get(7));
+    }
+
+    /**
+     * Тестирование параллельного потока: сумма по всем ядрам совпадает с последовательной,
+     * а изменение структуры карты во время обхода обнаруживается.
+     */
+    @Test
+    public void testParallelStreamAndFailFast() {
+        MyOwnHashMap<Integer, Long> map = new MyOwnHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, (long) i);
+        }
+        map.put(-7, 0L);
+        map.remove(-7);
+
+        long expectedSum = 99_999L * 100_000 / 2;
+        assertEquals(expectedSum, map.stream().parallel().mapToLong(Map.Entry::getValue).sum());
+        assertEquals(100_000, map.stream().parallel().count());
+        assertEquals(100_000, map.keySet().stream().parallel().distinct().count());
+
+        MyOwnHashMap<Integer, Integer> treeMap = new MyOwnHashMap<>(64);
+        for (int i = 0; i < 20; i++) {
+            treeMap.put(i * 64, i); // Одна корзина, превращенная в дерево
+        }
+        assertEquals(20, treeMap.keySet().stream().parallel().count());
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.forEach((key, value) -> map.put(-key - 1, value)));
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (Integer key : map.keySet()) {
+                map.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Тестирование сбора статистики: счетчики ведутся только во включенном режиме,
+     * а распределение длин цепочек отражает содержимое таблицы.
+     */
+    @Test
+    public void testStats() {
+        MyOwnHashMap<Object, Integer> map = new MyOwnHashMap<>(64);
+        map.put("до включения", 0);
+        assertNull(map.get("нет"));
+        assertFalse(map.isStatsEnabled());
+        assertEquals(0, map.stats().misses());
+
+        map.setStatsEnabled(true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            map.put(new SameHashKey(i), i); // Одна длинная корзина
+        }
+        for (int i = 0; i < 150; i++) {
+            map.get(i);
+        }
+
+        MyOwnHashMapStats stats = map.stats();
+        assertEquals(111, stats.size());
+        assertEquals(100, stats.hits());
+        assertEquals(50, stats.misses());
+        assertEquals(2.0 / 3, stats.hitRatio(), 1e-9);
+        assertTrue(stats.resizes() >= 1);
+        assertTrue(stats.resizeNanos() > 0);
+        assertTrue(stats.longestChain() >= 10);
+        assertEquals(1, stats.treeBins());
+        long buckets = 0;
+        long elements = 0;
+        for (int length = 0; length <= MyOwnHashMapStats.MAX_TRACKED_LENGTH; length++) {
+            buckets += stats.bucketsWithLength(length);
+            elements += stats.bucketsWithLength(length) * length;
+        }
+        assertTrue(buckets <= stats.capacity()); // Во время переноса старые корзины учитываются по разу
+        assertEquals(111, elements);
+        assertEquals(111.0 / stats.capacity(), stats.loadFactor(), 1e-9);
+
+        map.setStatsEnabled(false);
+        map.get(1);
+        assertEquals(0, map.stats().hits());
+    }
+
+    /**
+     * Тестирование статистики во время постепенного переноса: вызов stats не завершает перенос
+     * и не меняет карту, а распределение учитывает каждый элемент ровно один раз.
+     */
+    @Test
+    public void testStatsDoesNotCompleteTransfer() {
+        MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>(1024);
+        int count = 0;
+        while (map.stats().capacity() == 1024) {
+            map.put(count, count);
+            count++;
+        }
+        MyOwnHashMapStats during = map.stats();
+        MyOwnHashMapStats again = map.stats();
+        long buckets = 0;
+        long elements = 0;
+        for (int length = 0; length <= MyOwnHashMapStats.MAX_TRACKED_LENGTH; length++) {
+            assertEquals(during.bucketsWithLength(length), again.bucketsWithLength(length));
+            buckets += during.bucketsWithLength(length);
+            elements += during.bucketsWithLength(length) * length;
+        }
+        assertEquals(count, elements);
+        assertTrue(buckets < during.capacity()); // Старые корзины еще не перенесены
+
+        map.forEach((key, value) -> { }); // Обход завершает перенос
+        MyOwnHashMapStats after = map.stats();
+        buckets = 0;
+        for (int length = 0; length <= MyOwnHashMapStats.MAX_TRACKED_LENGTH; length++) {
+            buckets += after.bucketsWithLength(length);
+        }
+        assertEquals(after.capacity(), buckets);
+    }
+
+    /**
+     * Тестирование стратегий хэширования: массивы байтов по содержимому, тождественность
+     * и встроенные стратегии перемешивания.
+     */
+    @Test
+    public void testHashStrategies() {
+        MyOwnHashMap<byte[], String> bytes = new MyOwnHashMap<>(MyOwnHashStrategy.byteArrays());
+        bytes.put(new byte[]{1, 2, 3}, "abc");
+        assertEquals("abc", bytes.get(new byte[]{1, 2, 3})); // Другой массив с тем же содержимым
+        assertNull(bytes.get(new byte[]{1, 2}));
+        assertTrue(bytes.keySet().contains(new byte[]{1, 2, 3}));
+        assertFalse(bytes.keySet().contains("не массив"));
+
+        MyOwnHashMap<String, Integer> identity = new MyOwnHashMap<>(MyOwnHashStrategy.identity());
+        String key = "ключ";
+        identity.put(key, 1);
+        assertEquals(1, identity.get(key));
+        assertNull(identity.get(new String(key))); // Равная, но другая строка
+
+        for (MyOwnHashStrategy<Integer> strategy : List.of(MyOwnHashStrategy.<Integer>murmur(),
+                MyOwnHashStrategy.<Integer>fx(), MyOwnHashStrategy.<Integer>randomized())) {
+            MyOwnHashMap<Integer, Integer> map = new MyOwnHashMap<>(strategy);
+            for (int i = 0; i < 10_000; i++) {
+                map.put(i << 12, i); // Хэш-коды различаются только старшими битами
+            }
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(i, map.get(i << 12));
+            }
+            assertTrue(map.stats().longestChain() < 8, "Стратегия плохо перемешивает: " + map.stats());
+        }
+        assertThrows(NullPointerException.class, () -> identity.put(null, 0));
+    }
+
+    /**
+     * Проверяет, что случайная стратегия разносит строки с одинаковым хэш-кодом по разным корзинам,
+     * а корзины-деревья работают с ключами без естественного порядка.
+     */
+    @Test
+    public void testRandomizedStrategyResistsCollidingStrings() {
+        List<String> colliding = new ArrayList<>();
+        colliding.add("");
+        for (int round = 0; round < 10; round++) {
+            List<String> next = new ArrayList<>();
+            for (String prefix : colliding) {
+                next.add(prefix + "Aa"); // "Aa" и "BB" имеют одинаковый хэш-код
+                next.add(prefix + "BB");
+            }
+            colliding = next;
+        }
+        assertEquals(1, colliding.stream().map(String::hashCode).distinct().count());
+
+        MyOwnHashMap<String, Integer> map = new MyOwnHashMap<>(MyOwnHashStrategy.randomized());
+        map.setStatsEnabled(true);
+        for (int i = 0; i < colliding.size(); i++) {
+            map.put(colliding.get(i), i);
+        }
+        for (int i = 0; i < colliding.size(); i++) {
+            assertEquals(i, map.get(colliding.get(i)));
+        }
+        assertTrue(map.stats().longestChain() < 8, map.stats().toString());
+
+        MyOwnHashMap<byte[], Integer> sameHash = new MyOwnHashMap<>(64, 0.75f, new MyOwnHashStrategy<>() {
+            @Override
+            public int hash(byte[] key) {
+                return 7;
+            }
+
+            @Override
+            public boolean equals(byte[] a, byte[] b) {
+                return Arrays.equals(a, b);
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            sameHash.put(new byte[]{(byte) i}, i);
+        }
+        assertEquals(1, sameHash.stats().treeBins());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, sameHash.get(new byte[]{(byte) i}));
+        }
+    }
+
+    /**
+     * Тестирование вычисляющих операций: computeIfAbsent, computeIfPresent, compute, merge,
+     * putIfAbsent, getOrDefault и put, возвращающего прежнее значение.
+     */
+    @Test
+    public void testComputeOperations() {
+        MyOwnHashMap<String, Integer> map = new MyOwnHashMap<>();
+        assertNull(map.put("a", 1));
+        assertEquals(1, map.put("a", 2));
+        assertEquals(2, map.putIfAbsent("a", 3));
+        assertNull(map.putIfAbsent("b", 3));
+
+        assertEquals(2, map.computeIfAbsent("a", key -> 100)); // Уже есть
+        assertEquals(1, map.computeIfAbsent("c", String::length));
+        assertNull(map.computeIfAbsent("d", key -> null)); // null не добавляется
+        assertEquals(3, map.size());
+
+        assertNull(map.computeIfPresent("d", (key, value) -> 5));
+        assertEquals(20, map.computeIfPresent("a", (key, value) -> value * 10));
+        assertNull(map.computeIfPresent("a", (key, value) -> null)); // Удаление
+        assertNull(map.get("a"));
+
+        assertEquals(7, map.compute("e", (key, value) -> value == null ? 7 : value + 1));
+        assertEquals(8, map.compute("e", (key, value) -> value == null ? 7 : value + 1));
+        assertNull(map.compute("e", (key, value) -> null));
+        assertEquals(2, map.size());
+
+        assertEquals(-1, map.getOrDefault("нет", -1));
+        map.put("null", null);
+        assertNull(map.getOrDefault("null", -1)); // Ключ есть, значение null
+
+        MyOwnHashMap<String, Integer> counts = new MyOwnHashMap<>();
+        String[] words = "a b a c b a".split(" ");
+        for (String word : words) {
+            counts.merge(word, 1, Integer::sum);
+        }
+        assertEquals(3, counts.get("a"));
+        assertEquals(2, counts.get("b"));
+        assertNull(counts.merge("c", 1, (a, b) -> null)); // Удаление через merge
+        assertEquals(2, counts.size());
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.computeIfAbsent("x", key -> map.put("y", 1)));
+    }
+
+    /**
+     * Тестирование вычисляющих операций в корзине-дереве и при росте таблицы
+     * в сравнении с java.util.HashMap.
+     */
+    @Test
+    public void testComputeMatchesHashMap() {
+        MyOwnHashMap<Object, Integer> map = new MyOwnHashMap<>(64);
+        Map<Object, Integer> expected = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 50_000; i++) {
+            Object key = random.nextInt(4) == 0 ? new SameHashKey(random.nextInt(40)) : random.nextInt(2_000);
+            int value = random.nextInt(10);
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.merge(key, value, (a, b) -> a + b > 20 ? null : a + b),
+                            map.merge(key, value, (a, b) -> a + b > 20 ? null : a + b));
+                    break;
+                case 1:
+                    assertEquals(expected.computeIfAbsent(key, k -> value),
+                            map.computeIfAbsent(key, k -> value));
+                    break;
+                case 2:
+                    assertEquals(expected.compute(key, (k, v) -> v == null ? Integer.valueOf(value) : (v % 3 == 0 ? null : v + 1)),
+                            map.compute(key, (k, v) -> v == null ? Integer.valueOf(value) : (v % 3 == 0 ? null : v + 1)));
+                    break;
+                default:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                    break;
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Object, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
 }
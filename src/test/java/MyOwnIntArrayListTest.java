@@ -0,0 +1,84 @@
+import org.example.MyOwnIntArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnIntArrayList.
+ */
+public class MyOwnIntArrayListTest {
+
+    /**
+     * Тестирование методов add, get, set, remove и clear с ростом массива.
+     */
+    @Test
+    public void testAddGetSetRemove() {
+        MyOwnIntArrayList list = new MyOwnIntArrayList(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        list.add(0, -1);
+        list.set(50, 500);
+        list.remove(1); // Удаляется 0
+
+        assertEquals(100, list.size());
+        assertEquals(-1, list.get(0));
+        assertEquals(1, list.get(1));
+        assertEquals(500, list.get(49));
+        assertEquals(99, list.get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(101, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnIntArrayList(-1));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(0, 1));
+    }
+
+    /**
+     * Тестирование сортировки и двоичного поиска по сравнению с эталоном.
+     */
+    @Test
+    public void testSortAndBinarySearch() {
+        Random random = new Random(3);
+        MyOwnIntArrayList list = new MyOwnIntArrayList();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(random.nextInt(1_000_000));
+        }
+        int[] expected = list.toArray();
+        Arrays.sort(expected);
+        list.sort();
+
+        assertArrayEquals(expected, list.toArray());
+        for (int i = 0; i < 1000; i++) {
+            int key = random.nextInt(1_000_000);
+            int index = list.binarySearch(key);
+            assertEquals(Arrays.binarySearch(expected, key) >= 0, index >= 0);
+            if (index >= 0) {
+                assertEquals(key, list.get(index));
+            }
+        }
+    }
+
+    /**
+     * Тестирование агрегатов sum, min и max, включая сумму, не помещающуюся в int.
+     */
+    @Test
+    public void testAggregates() {
+        MyOwnIntArrayList list = new MyOwnIntArrayList();
+        assertEquals(0, list.sum());
+        assertThrows(NoSuchElementException.class, list::min);
+        for (int i = 0; i < 1000; i++) {
+            list.add(Integer.MAX_VALUE - i);
+        }
+        list.add(Integer.MIN_VALUE);
+
+        assertEquals(1000L * Integer.MAX_VALUE - 999L * 1000 / 2 + Integer.MIN_VALUE, list.sum());
+        assertEquals(Integer.MIN_VALUE, list.min());
+        assertEquals(Integer.MAX_VALUE, list.max());
+    }
+}
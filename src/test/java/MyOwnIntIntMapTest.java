@@ -0,0 +1,80 @@
+import org.example.MyOwnIntIntMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnIntIntMap.
+ */
+public class MyOwnIntIntMapTest {
+
+    /**
+     * Тестирование метода put и get, включая ключ 0, которым обозначаются пустые ячейки.
+     */
+    @Test
+    public void testPutAndGetIncludingZeroKey() {
+        MyOwnIntIntMap map = new MyOwnIntIntMap(4, 0.5f, -1);
+        assertEquals(-1, map.put(0, 10));
+        assertEquals(-1, map.put(5, 50));
+        assertEquals(10, map.put(0, 11));
+
+        assertEquals(11, map.get(0));
+        assertEquals(50, map.get(5));
+        assertEquals(-1, map.get(6)); // Ключ отсутствует
+        assertTrue(map.containsKey(0));
+        assertEquals(2, map.size());
+
+        assertEquals(11, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Тестирование счетчиков через addTo.
+     */
+    @Test
+    public void testAddToCountsOccurrences() {
+        MyOwnIntIntMap map = new MyOwnIntIntMap();
+        int[] ids = {3, 0, 3, 7, 3, 0};
+        for (int id : ids) {
+            map.addTo(id, 1);
+        }
+
+        assertEquals(3, map.get(3));
+        assertEquals(2, map.get(0));
+        assertEquals(1, map.get(7));
+        assertEquals(0, map.get(8));
+        assertEquals(3, map.size());
+    }
+
+    /**
+     * Тестирование случайной последовательности операций в сравнении с java.util.HashMap.
+     */
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        MyOwnIntIntMap map = new MyOwnIntIntMap(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(4_000) - 2_000;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? 0 : removed, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? 0 : previous, map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -2_000; key < 2_000; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.getOrDefault(key, 0), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import org.example.MyOwnLongArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnLongArrayList.
+ */
+public class MyOwnLongArrayListTest {
+
+    /**
+     * Тестирование методов add, get, set и remove.
+     */
+    @Test
+    public void testAddGetSetRemove() {
+        MyOwnLongArrayList list = new MyOwnLongArrayList();
+        list.add(Long.MAX_VALUE);
+        list.add(2);
+        list.add(1, Long.MIN_VALUE);
+        list.set(2, 3);
+        list.remove(0);
+
+        assertEquals(2, list.size());
+        assertEquals(Long.MIN_VALUE, list.get(0));
+        assertEquals(3, list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(2));
+    }
+
+    /**
+     * Тестирование сортировки, двоичного поиска и агрегатов.
+     */
+    @Test
+    public void testSortSearchAndAggregates() {
+        Random random = new Random(5);
+        MyOwnLongArrayList list = new MyOwnLongArrayList();
+        long sum = 0;
+        for (int i = 0; i < 50_000; i++) {
+            long value = random.nextLong() >> 20;
+            list.add(value);
+            sum += value;
+        }
+        long[] expected = list.toArray();
+        Arrays.sort(expected);
+        list.sort();
+
+        assertArrayEquals(expected, list.toArray());
+        assertEquals(sum, list.sum());
+        assertEquals(expected[0], list.min());
+        assertEquals(expected[expected.length - 1], list.max());
+        assertEquals(12_345, list.binarySearch(expected[12_345]));
+        assertTrue(list.binarySearch(Long.MAX_VALUE) < 0);
+    }
+}
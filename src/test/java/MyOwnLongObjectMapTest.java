@@ -0,0 +1,61 @@
+import org.example.MyOwnLongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnLongObjectMap.
+ */
+public class MyOwnLongObjectMapTest {
+
+    /**
+     * Тестирование метода put и get, включая ключ 0 и ключи, различающиеся только старшими битами.
+     */
+    @Test
+    public void testPutAndGet() {
+        MyOwnLongObjectMap<String> map = new MyOwnLongObjectMap<>();
+        assertNull(map.put(0L, "zero"));
+        assertNull(map.put(1L, "low"));
+        assertNull(map.put(1L << 32 | 1L, "high"));
+        assertEquals("low", map.put(1L, "one"));
+
+        assertEquals("zero", map.get(0L));
+        assertEquals("one", map.get(1L));
+        assertEquals("high", map.get(1L << 32 | 1L));
+        assertNull(map.get(2L)); // Ключ отсутствует
+        assertEquals(3, map.size());
+
+        assertEquals("zero", map.remove(0L));
+        assertNull(map.get(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * Тестирование случайной последовательности операций в сравнении с java.util.HashMap.
+     */
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        MyOwnLongObjectMap<Integer> map = new MyOwnLongObjectMap<>(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 200_000; i++) {
+            long key = (random.nextInt(4_000) - 2_000) * 0x1_0000_0001L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int k = -2_000; k < 2_000; k++) {
+            long key = k * 0x1_0000_0001L;
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+import org.example.MyOwnObjectIntMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnObjectIntMap.
+ */
+public class MyOwnObjectIntMapTest {
+
+    /**
+     * Тестирование метода put и get со значением "нет элемента".
+     */
+    @Test
+    public void testPutAndGet() {
+        MyOwnObjectIntMap<String> map = new MyOwnObjectIntMap<>(4, 0.5f, Integer.MIN_VALUE);
+        assertEquals(Integer.MIN_VALUE, map.put("one", 1));
+        assertEquals(1, map.put("one", 2));
+        map.put("two", 0);
+
+        assertEquals(2, map.get("one"));
+        assertEquals(0, map.get("two"));
+        assertTrue(map.containsKey("two"));
+        assertEquals(Integer.MIN_VALUE, map.get("three")); // Ключ отсутствует
+
+        assertEquals(2, map.remove("one"));
+        assertEquals(Integer.MIN_VALUE, map.get("one"));
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.get(null));
+    }
+
+    /**
+     * Тестирование счетчиков через addTo в сравнении с java.util.HashMap.
+     */
+    @Test
+    public void testAddToMatchesHashMapMerge() {
+        MyOwnObjectIntMap<String> map = new MyOwnObjectIntMap<>();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 100_000; i++) {
+            String key = "k" + random.nextInt(3_000);
+            if (random.nextInt(5) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? 0 : removed, map.remove(key));
+            } else {
+                assertEquals((int) expected.merge(key, 2, Integer::sum), map.addTo(key, 2));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int k = 0; k < 3_000; k++) {
+            assertEquals(expected.getOrDefault("k" + k, 0), map.get("k" + k));
+        }
+    }
+}
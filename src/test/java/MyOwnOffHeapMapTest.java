@@ -0,0 +1,275 @@
+import org.example.MyOwnCodec;
+import org.example.MyOwnOffHeapMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnOffHeapMap.
+ */
+public class MyOwnOffHeapMapTest {
+
+    /**
+     * Тестирование метода put, get и remove со строковыми ключами и значениями.
+     */
+    @Test
+    public void testPutGetAndRemove() {
+        try (MyOwnOffHeapMap<String, String> map =
+                     new MyOwnOffHeapMap<>(64 * 1024, MyOwnCodec.strings(), MyOwnCodec.strings())) {
+            map.put("one", "1");
+            map.put("two", "два");
+            map.put("one", "один"); // Значение другой длины
+
+            assertEquals("один", map.get("one"));
+            assertEquals("два", map.get("two"));
+            assertNull(map.get("three")); // Ключ отсутствует
+            assertEquals(2, map.size());
+
+            map.remove("one");
+            assertNull(map.get("one"));
+            assertEquals("два", map.get("two"));
+            assertEquals(1, map.size());
+        }
+    }
+
+    /**
+     * Тестирование кодеков фиксированной ширины.
+     */
+    @Test
+    public void testFixedWidthCodecs() {
+        try (MyOwnOffHeapMap<Long, Integer> map =
+                     new MyOwnOffHeapMap<>(1 << 20, 10_000, MyOwnCodec.longs(), MyOwnCodec.ints())) {
+            for (long i = 0; i < 10_000; i++) {
+                map.put(i * 31, (int) i);
+            }
+            for (long i = 0; i < 10_000; i++) {
+                assertEquals(Integer.valueOf((int) i), map.get(i * 31));
+            }
+            assertEquals(10_000, map.size());
+        }
+    }
+
+    /**
+     * Тестирование уплотнения: многократная замена значений в небольшой памяти
+     * требует повторного использования места удаленных записей.
+     */
+    @Test
+    public void testCompactionReclaimsDeadRecords() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(19);
+        try (MyOwnOffHeapMap<Integer, String> map =
+                     new MyOwnOffHeapMap<>(32 * 1024, 256, MyOwnCodec.ints(), MyOwnCodec.strings())) {
+            for (int i = 0; i < 50_000; i++) {
+                int key = random.nextInt(150);
+                if (random.nextInt(4) == 0) {
+                    map.remove(key);
+                    expected.remove(key);
+                } else {
+                    String value = "v".repeat(random.nextInt(40)) + i;
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (int key = 0; key < 150; key++) {
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+    }
+
+    /**
+     * Тестирование переполнения памяти и работы после закрытия.
+     */
+    @Test
+    public void testOverflowAndClose() {
+        MyOwnOffHeapMap<Integer, byte[]> map =
+                new MyOwnOffHeapMap<>(4 * 1024, 16, MyOwnCodec.ints(), MyOwnCodec.bytes());
+        assertThrows(IllegalStateException.class, () -> map.put(1, new byte[8 * 1024]));
+        map.put(1, new byte[]{1, 2, 3});
+        assertArrayEquals(new byte[]{1, 2, 3}, map.get(1));
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.get(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyOwnOffHeapMap<>(16, MyOwnCodec.ints(), MyOwnCodec.ints()));
+    }
+
+    /**
+     * Тестирование файловой карты: данные сохраняются после закрытия и повторного открытия.
+     */
+    @Test
+    public void testFileMapSurvivesReopen(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("map.bin");
+        try (MyOwnOffHeapMap<String, Long> map =
+                     MyOwnOffHeapMap.open(file, 256 * 1024, MyOwnCodec.strings(), MyOwnCodec.longs())) {
+            for (long i = 0; i < 1000; i++) {
+                map.put("key" + i, i);
+            }
+            map.remove("key7");
+            map.put("key8", -8L);
+        }
+        assertEquals(256 * 1024, Files.size(file));
+
+        try (MyOwnOffHeapMap<String, Long> map =
+                     MyOwnOffHeapMap.open(file, 0, MyOwnCodec.strings(), MyOwnCodec.longs())) {
+            assertEquals(999, map.size());
+            assertNull(map.get("key7"));
+            assertEquals(-8L, map.get("key8"));
+            assertEquals(999L, map.get("key999"));
+            map.put("key7", 7L); // Карта доступна для записи сразу после открытия
+            assertEquals(7L, map.get("key7"));
+        }
+    }
+
+    /**
+     * Проверяет восстановление индекса из журнала записей, если карта не была зафиксирована.
+     * Сбой имитируется копированием файла, пока исходная карта открыта и не зафиксирована.
+     */
+    @Test
+    public void testRecoveryAfterCrash(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("map.bin");
+        Path crashed = dir.resolve("crashed.bin");
+        Map<String, String> expected = new HashMap<>();
+        try (MyOwnOffHeapMap<String, String> map =
+                     MyOwnOffHeapMap.open(file, 64 * 1024, MyOwnCodec.strings(), MyOwnCodec.strings())) {
+            map.put("stable", "зафиксировано");
+            map.flush();
+            expected.put("stable", "зафиксировано");
+            Random random = new Random(7);
+            for (int i = 0; i < 500; i++) {
+                String key = "k" + random.nextInt(100);
+                if (random.nextInt(4) == 0) {
+                    map.remove(key);
+                    expected.remove(key);
+                } else {
+                    String value = "v" + random.nextInt(1 << random.nextInt(20));
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+            }
+            Files.copy(file, crashed);
+        }
+
+        try (MyOwnOffHeapMap<String, String> map =
+                     MyOwnOffHeapMap.open(crashed, 0, MyOwnCodec.strings(), MyOwnCodec.strings())) {
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<String, String> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что сбой посреди замены значения не теряет зафиксированное значение.
+     * Замененная запись в файле не помечается удаленной, поэтому образ после сбоя, в котором
+     * новая запись оборвана или вовсе не попала на диск, восстанавливается к прежнему значению.
+     */
+    @Test
+    public void testTornReplacementKeepsCommittedValue(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("map.bin");
+        Path crashed = dir.resolve("crashed.bin");
+        try (MyOwnOffHeapMap<String, String> map =
+                     MyOwnOffHeapMap.open(file, 64 * 1024, MyOwnCodec.strings(), MyOwnCodec.strings())) {
+            map.put("ключ", "aaaaaaaa");
+            map.flush();
+            map.put("ключ", "bbbbbbbb"); // Та же длина
+            Files.copy(file, crashed);
+        }
+
+        byte[] image = Files.readAllBytes(crashed);
+        int keyLength = "ключ".getBytes(StandardCharsets.UTF_8).length;
+        int headerSize = 24;
+        int committed = indexOf(image, "ключaaaaaaaa".getBytes(StandardCharsets.UTF_8)) - headerSize;
+        int replacement = indexOf(image, "ключbbbbbbbb".getBytes(StandardCharsets.UTF_8)) - headerSize;
+        assertTrue(committed >= 0, "Зафиксированная запись перезаписана на месте");
+        assertTrue(replacement > committed);
+        assertArrayEquals(Arrays.copyOfRange(image, replacement + 12, replacement + 16),
+                Arrays.copyOfRange(image, committed + 12, committed + 16)); // Старая запись не помечена удаленной
+
+        byte[] torn = image.clone();
+        torn[replacement + headerSize + keyLength] ^= 1; // Новое значение записано не целиком
+        byte[] lost = image.clone();
+        Arrays.fill(lost, replacement, replacement + headerSize + keyLength + 8, (byte) 0); // Новая запись не записана
+        for (byte[] bytes : new byte[][]{torn, lost}) {
+            Files.write(crashed, bytes);
+            try (MyOwnOffHeapMap<String, String> map =
+                         MyOwnOffHeapMap.open(crashed, 0, MyOwnCodec.strings(), MyOwnCodec.strings())) {
+                assertEquals("aaaaaaaa", map.get("ключ"));
+                assertEquals(1, map.size());
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что удаление после замены не воскрешает прежние записи ключа при восстановлении,
+     * а уплотнение файловой карты пропускает замененные записи.
+     */
+    @Test
+    public void testRemovalAndCompactionAfterReplacements(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("map.bin");
+        Path crashed = dir.resolve("crashed.bin");
+        try (MyOwnOffHeapMap<Integer, Integer> map =
+                     MyOwnOffHeapMap.open(file, 64 * 1024, MyOwnCodec.ints(), MyOwnCodec.ints())) {
+            for (int i = 0; i < 5_000; i++) {
+                map.put(i % 10, i); // Много замен: место освобождается уплотнением
+            }
+            map.flush();
+            map.put(1, -1);
+            map.remove(1);
+            map.put(2, -2);
+            Files.copy(file, crashed);
+        }
+
+        try (MyOwnOffHeapMap<Integer, Integer> map =
+                     MyOwnOffHeapMap.open(crashed, 0, MyOwnCodec.ints(), MyOwnCodec.ints())) {
+            assertEquals(9, map.size());
+            assertNull(map.get(1));
+            assertEquals(-2, map.get(2));
+            assertEquals(4_999, map.get(9));
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, что файл, не являющийся картой, не открывается.
+     */
+    @Test
+    public void testOpenRejectsForeignFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("foreign.bin");
+        Files.write(file, new byte[4096]);
+        assertThrows(IOException.class,
+                () -> MyOwnOffHeapMap.open(file, 4096, MyOwnCodec.ints(), MyOwnCodec.ints()));
+    }
+
+    /**
+     * Проверяет, что put возвращает прежнее значение, прочитанное из памяти.
+     */
+    @Test
+    public void testPutReturnsPreviousValue() {
+        try (MyOwnOffHeapMap<Integer, String> map =
+                     new MyOwnOffHeapMap<>(4096, MyOwnCodec.ints(), MyOwnCodec.strings())) {
+            assertNull(map.put(1, "один"));
+            assertEquals("один", map.put(1, "два")); // Та же длина: перезапись на месте
+            assertEquals("два", map.put(1, "три!"));
+            assertEquals("три!", map.get(1));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+import org.example.MyOwnMap;
+import org.example.MyOwnOpenHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnOpenHashMap.
+ */
+public class MyOwnOpenHashMapTest {
+
+    /**
+     * Ключ с управляемым хэш-кодом, позволяющий строить кластеры коллизий.
+     */
+    private static final class CollidingKey {
+        private final int id;
+        private final int hash;
+
+        CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Тестирование метода put и get.
+     * Проверяет добавление элементов и получение значений по ключу.
+     */
+    @Test
+    public void testPutAndGet() {
+        MyOwnOpenHashMap<String, Integer> map = new MyOwnOpenHashMap<>(10);
+        map.put("one", 1);
+        map.put("two", 2);
+
+        assertEquals(Integer.valueOf(1), map.get("one"));
+        assertEquals(Integer.valueOf(2), map.get("two"));
+        assertNull(map.get("three")); // Ключ отсутствует
+    }
+
+    /**
+     * Тестирование обновления значения для существующего ключа.
+     */
+    @Test
+    public void testUpdateExistingKey() {
+        MyOwnOpenHashMap<String, Integer> map = new MyOwnOpenHashMap<>(10);
+        map.put("one", 1);
+        map.put("one", 2);
+
+        assertEquals(Integer.valueOf(2), map.get("one"));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Тестирование удаления внутри кластера коллизий.
+     * После удаления первого элемента кластера остальные должны оставаться доступными.
+     */
+    @Test
+    public void testRemoveInsideCollisionCluster() {
+        MyOwnOpenHashMap<CollidingKey, Integer> map = new MyOwnOpenHashMap<>(16);
+        CollidingKey[] keys = new CollidingKey[6];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new CollidingKey(i, 42);
+            map.put(keys[i], i);
+        }
+
+        map.remove(keys[0]);
+        map.remove(keys[3]);
+
+        assertNull(map.get(keys[0]));
+        assertNull(map.get(keys[3]));
+        for (int i : new int[]{1, 2, 4, 5}) {
+            assertEquals(Integer.valueOf(i), map.get(keys[i]));
+        }
+        assertEquals(4, map.size());
+    }
+
+    /**
+     * Тестирование случайной последовательности операций в сравнении с java.util.HashMap.
+     * Проверяет рост таблицы и корректность обратного сдвига при удалении.
+     */
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        MyOwnOpenHashMap<Integer, Integer> map = new MyOwnOpenHashMap<>(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    /**
+     * Тестирование выбора способа хранения через фабричный метод.
+     */
+    @Test
+    public void testFactoryCreatesSelectedBackend() {
+        MyOwnMap<String, Integer> open = MyOwnMap.create(MyOwnMap.Backend.OPEN_ADDRESSING, 4);
+        MyOwnMap<String, Integer> chained = MyOwnMap.create(MyOwnMap.Backend.CHAINED, 4);
+        assertInstanceOf(MyOwnOpenHashMap.class, open);
+        assertTrue(open.isEmpty());
+
+        for (MyOwnMap<String, Integer> map : List.of(open, chained)) {
+            map.put("one", 1);
+            map.put("two", 2);
+            map.remove("one");
+            assertNull(map.get("one"));
+            assertEquals(Integer.valueOf(2), map.get("two"));
+            assertEquals(1, map.size());
+        }
+    }
+
+    /**
+     * Тестирование проверки аргументов конструктора.
+     */
+    @Test
+    public void testInvalidConstructorArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnOpenHashMap<String, Integer>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnOpenHashMap<String, Integer>(16, 1f));
+        assertThrows(NullPointerException.class, () -> new MyOwnOpenHashMap<String, Integer>().put(null, 1));
+    }
+
+    /**
+     * Проверяет, что put возвращает прежнее значение для всех способов хранения.
+     */
+    @Test
+    public void testPutReturnsPreviousValue() {
+        for (MyOwnMap.Backend backend : MyOwnMap.Backend.values()) {
+            MyOwnMap<String, Integer> map = MyOwnMap.create(backend, 4);
+            assertNull(map.put("a", 1));
+            assertEquals(1, map.put("a", 2));
+            assertEquals(2, map.get("a"));
+        }
+    }
+}
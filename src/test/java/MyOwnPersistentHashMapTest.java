@@ -0,0 +1,177 @@
+import org.example.MyOwnPersistentHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnPersistentHashMap.
+ */
+public class MyOwnPersistentHashMapTest {
+
+    /**
+     * Ключ с управляемым хэш-кодом для проверки узлов коллизий.
+     */
+    private static final class CollidingKey {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 3;
+        }
+    }
+
+    /**
+     * Тестирование неизменяемости версий.
+     * Проверяет, что put и remove возвращают новые версии, не меняя прежние.
+     */
+    @Test
+    public void testVersionsAreIndependent() {
+        MyOwnPersistentHashMap<String, Integer> empty = MyOwnPersistentHashMap.empty();
+        MyOwnPersistentHashMap<String, Integer> v1 = empty.put("a", 1).put("b", 2);
+        MyOwnPersistentHashMap<String, Integer> v2 = v1.put("a", 10);
+        MyOwnPersistentHashMap<String, Integer> v3 = v2.remove("b");
+
+        assertTrue(empty.isEmpty());
+        assertEquals(Integer.valueOf(1), v1.get("a"));
+        assertEquals(Integer.valueOf(10), v2.get("a"));
+        assertEquals(Integer.valueOf(2), v2.get("b"));
+        assertNull(v3.get("b"));
+        assertEquals(2, v2.size());
+        assertEquals(1, v3.size());
+        assertSame(v3, v3.remove("нет"));
+        assertSame(v1, v1.put("b", v1.get("b")));
+        assertEquals(Integer.valueOf(-1), v3.getOrDefault("b", -1));
+        assertThrows(NullPointerException.class, () -> v1.put(null, 1));
+    }
+
+    /**
+     * Тестирование случайной последовательности операций в сравнении с java.util.HashMap.
+     * Проверяет также, что сохраненный снимок не меняется при дальнейших изменениях.
+     */
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        MyOwnPersistentHashMap<Integer, Integer> map = MyOwnPersistentHashMap.empty();
+        Map<Integer, Integer> expected = new HashMap<>();
+        MyOwnPersistentHashMap<Integer, Integer> snapshot = null;
+        Map<Integer, Integer> expectedSnapshot = null;
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(10_000);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, i);
+                expected.put(key, i);
+            }
+            if (i == 50_000) {
+                snapshot = map;
+                expectedSnapshot = new HashMap<>(expected);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expectedSnapshot.size(), snapshot.size());
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expectedSnapshot.get(key), snapshot.get(key));
+        }
+        Map<Integer, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(expected, seen);
+    }
+
+    /**
+     * Тестирование ключей с одинаковым хэшем.
+     * Проверяет добавление, замену и удаление в узлах коллизий вплоть до пустой карты.
+     */
+    @Test
+    public void testCollisions() {
+        MyOwnPersistentHashMap<CollidingKey, Integer> map = MyOwnPersistentHashMap.empty();
+        for (int i = 0; i < 30; i++) {
+            map = map.put(new CollidingKey(i), i);
+        }
+        map = map.put(new CollidingKey(4), 40);
+
+        assertEquals(30, map.size());
+        assertEquals(Integer.valueOf(40), map.get(new CollidingKey(4)));
+        map = map.put(new CollidingKey(4), 4);
+        for (int i = 0; i < 30; i++) {
+            map = map.remove(new CollidingKey(i));
+            assertNull(map.get(new CollidingKey(i)));
+            if (i + 1 < 30) {
+                assertEquals(Integer.valueOf(i + 1), map.get(new CollidingKey(i + 1)));
+            }
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Тестирование изменяемой версии.
+     * Проверяет пакетное построение, независимость исходной карты и запрет использования
+     * после завершения.
+     */
+    @Test
+    public void testTransientBuilder() {
+        MyOwnPersistentHashMap<Integer, String> base = MyOwnPersistentHashMap.<Integer, String>empty().put(1, "один");
+        MyOwnPersistentHashMap.Transient<Integer, String> builder = base.asTransient();
+        for (int i = 0; i < 10_000; i++) {
+            builder.put(i, "v" + i);
+        }
+        assertEquals("v1", builder.put(1, "x"));
+        builder.remove(2);
+        MyOwnPersistentHashMap<Integer, String> built = builder.persistent();
+
+        assertEquals(9_999, built.size());
+        assertEquals("x", built.get(1));
+        assertNull(built.get(2));
+        assertEquals("v9999", built.get(9_999));
+        assertEquals(1, base.size());
+        assertEquals("один", base.get(1));
+        assertThrows(IllegalStateException.class, () -> builder.put(3, "y"));
+
+        MyOwnPersistentHashMap<Integer, String> next = built.put(5, "z");
+        assertEquals("v5", built.get(5));
+        assertEquals("z", next.get(5));
+    }
+
+    /**
+     * Тестирование чтения версии из нескольких потоков во время записи новых версий.
+     */
+    @Test
+    public void testConcurrentReadersSeeStableVersion() {
+        MyOwnPersistentHashMap.Transient<Integer, Integer> builder = MyOwnPersistentHashMap.<Integer, Integer>empty()
+                .asTransient();
+        for (int i = 0; i < 20_000; i++) {
+            builder.put(i, i);
+        }
+        MyOwnPersistentHashMap<Integer, Integer> version = builder.persistent();
+        AtomicInteger found = new AtomicInteger();
+
+        IntStream.range(0, 8).parallel().forEach(t -> {
+            MyOwnPersistentHashMap<Integer, Integer> local = version;
+            for (int i = 0; i < 20_000; i++) {
+                if (version.get(i) == i) {
+                    found.incrementAndGet();
+                }
+                local = local.put(i, -t);
+            }
+        });
+        assertEquals(8 * 20_000, found.get());
+    }
+}
@@ -0,0 +1,94 @@
+import org.example.MyOwnShardedMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnShardedMap.
+ */
+public class MyOwnShardedMapTest {
+
+    /**
+     * Тестирование основных операций.
+     * Проверяет результаты put, get, remove и compute и порядок операций над одним ключом.
+     */
+    @Test
+    public void testOperationsCompleteInOrder() {
+        try (MyOwnShardedMap<String, Integer> map = new MyOwnShardedMap<>(4)) {
+            CompletableFuture<Integer> first = map.put("a", 1);
+            CompletableFuture<Integer> second = map.put("a", 2);
+            CompletableFuture<Integer> value = map.get("a");
+            CompletableFuture<Integer> computed = map.compute("a", (key, old) -> old * 10);
+            CompletableFuture<Integer> removed = map.remove("a");
+            CompletableFuture<Integer> missing = map.get("a");
+
+            assertNull(first.join());
+            assertEquals(1, second.join());
+            assertEquals(2, value.join());
+            assertEquals(20, computed.join());
+            assertEquals(20, removed.join());
+            assertNull(missing.join());
+            assertEquals(4, map.shardCount());
+            assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        }
+    }
+
+    /**
+     * Тестирование записи из многих потоков и снимка.
+     * Проверяет, что все записи видны в снимке, а сам снимок не меняется после новых записей.
+     */
+    @Test
+    public void testConcurrentWritersAndSnapshot() {
+        try (MyOwnShardedMap<Integer, Integer> map = new MyOwnShardedMap<>(8,
+                Thread.ofPlatform().daemon().factory())) {
+            List<CompletableFuture<Integer>> writes = new ArrayList<>();
+            IntStream.range(0, 8).parallel().forEach(t -> {
+                List<CompletableFuture<Integer>> local = new ArrayList<>();
+                for (int i = t; i < 80_000; i += 8) {
+                    local.add(map.put(i, i * 2));
+                }
+                synchronized (writes) {
+                    writes.addAll(local);
+                }
+            });
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+
+            MyOwnShardedMap.Snapshot<Integer, Integer> snapshot = map.snapshot().join();
+            map.put(1, -1).join();
+
+            assertEquals(80_000, snapshot.size());
+            IntStream.range(0, 80_000).parallel().forEach(i -> assertEquals(i * 2, snapshot.get(i)));
+            assertEquals(-1, map.get(1).join());
+        }
+    }
+
+    /**
+     * Тестирование ошибок операций и закрытия.
+     * Проверяет, что исключение функции не останавливает шард, а закрытая карта отклоняет операции.
+     */
+    @Test
+    public void testFailuresAndClose() {
+        MyOwnShardedMap<String, Integer> map = new MyOwnShardedMap<>(2, Executors.defaultThreadFactory());
+        CompletableFuture<Integer> failed = map.compute("a", (key, old) -> {
+            throw new IllegalStateException("сбой");
+        });
+        CompletableFuture<Integer> next = map.put("a", 5);
+
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertNull(next.join());
+
+        CompletableFuture<Integer> pending = map.put("b", 1);
+        map.close();
+        assertNull(pending.join()); // Поставленная до закрытия операция выполнена
+        assertThrows(IllegalStateException.class, () -> map.get("a"));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnShardedMap<String, Integer>(0));
+    }
+}
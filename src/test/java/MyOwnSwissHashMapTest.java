@@ -0,0 +1,106 @@
+import org.example.MyOwnMap;
+import org.example.MyOwnSwissHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки функциональности класса MyOwnSwissHashMap.
+ */
+public class MyOwnSwissHashMapTest {
+
+    /**
+     * Ключ с управляемым хэш-кодом: ключи с равным хэш-кодом получают равные отпечатки.
+     */
+    private static final class CollidingKey {
+        private final int id;
+        private final int hash;
+
+        CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Тестирование метода put и get.
+     * Проверяет добавление элементов, обновление значения и поиск отсутствующего ключа.
+     */
+    @Test
+    public void testPutAndGet() {
+        MyOwnSwissHashMap<String, Integer> map = new MyOwnSwissHashMap<>(10);
+        assertNull(map.put("one", 1));
+        map.put("two", 2);
+        assertEquals(Integer.valueOf(1), map.put("one", 3));
+
+        assertEquals(Integer.valueOf(3), map.get("one"));
+        assertEquals(Integer.valueOf(2), map.get("two"));
+        assertNull(map.get("three"));
+        assertEquals(2, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MyOwnSwissHashMap<String, Integer>(-1));
+    }
+
+    /**
+     * Тестирование группы, целиком занятой ключами с одинаковым хэшем.
+     * Проверяет переход поиска в следующие группы и удаление с "надгробиями".
+     */
+    @Test
+    public void testFullGroupsOfEqualFingerprints() {
+        MyOwnSwissHashMap<CollidingKey, Integer> map = new MyOwnSwissHashMap<>(0);
+        CollidingKey[] keys = new CollidingKey[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new CollidingKey(i, 42);
+            map.put(keys[i], i);
+        }
+        for (int i = 0; i < keys.length; i += 3) {
+            map.remove(keys[i]);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 3 == 0 ? null : Integer.valueOf(i), map.get(keys[i]));
+        }
+        assertNull(map.get(new CollidingKey(1000, 42)));
+        assertEquals(66, map.size());
+    }
+
+    /**
+     * Тестирование случайной последовательности операций в сравнении с java.util.HashMap.
+     * Проверяет рост таблицы при высокой загрузке и очистку "надгробий" при частых удалениях.
+     */
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        MyOwnMap<Integer, Integer> map = MyOwnMap.create(MyOwnMap.Backend.SWISS, 0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 300_000; i++) {
+            int key = random.nextInt(i < 150_000 ? 20_000 : 2_000);
+            if (random.nextBoolean()) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertInstanceOf(MyOwnSwissHashMap.class, map);
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 20_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}